@@ -12,6 +12,7 @@ otelJava {
 }
 
 dependencies {
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
   jmhImplementation("org.springframework.boot:spring-boot-starter-web:4.0.3")
 }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.api;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Uses the OpenTelemetry API from the application, which the agent bridges to its own SDK. Compare
+ * with {@link ApiWithAgentDisabledBenchmark}, which uses the SDK directly, to see the overhead of
+ * the bridge.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class ApiBenchmark {
+
+  private Tracer tracer;
+
+  @Setup
+  public void setUp() {
+    tracer = openTelemetry().getTracer("benchmark");
+  }
+
+  protected OpenTelemetry openTelemetry() {
+    return GlobalOpenTelemetry.get();
+  }
+
+  @Benchmark
+  public void span() {
+    Span span = tracer.spanBuilder("span").startSpan();
+    try (io.opentelemetry.context.Scope ignored = span.makeCurrent()) {
+      Span.current().setAttribute("key", "value");
+    } finally {
+      span.end();
+    }
+  }
+
+  @Benchmark
+  public void nestedSpans() {
+    Span parent = tracer.spanBuilder("parent").startSpan();
+    try (io.opentelemetry.context.Scope ignored = parent.makeCurrent()) {
+      for (int i = 0; i < 3; i++) {
+        Span child = tracer.spanBuilder("child").startSpan();
+        try (io.opentelemetry.context.Scope ignored2 = child.makeCurrent()) {
+          Span.current().setAttribute("key", "value");
+        } finally {
+          child.end();
+        }
+      }
+    } finally {
+      parent.end();
+    }
+  }
+
+  // like a method called many times while a span is current, e.g. one using Span.current() to add
+  // events
+  @Benchmark
+  public void currentSpan() {
+    Span span = tracer.spanBuilder("span").startSpan();
+    try (io.opentelemetry.context.Scope ignored = span.makeCurrent()) {
+      for (int i = 0; i < 10; i++) {
+        Span.current().setAttribute("key", "value");
+      }
+    } finally {
+      span.end();
+    }
+  }
+}
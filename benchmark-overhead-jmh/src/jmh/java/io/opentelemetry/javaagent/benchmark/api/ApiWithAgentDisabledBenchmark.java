@@ -0,0 +1,24 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.api;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.openjdk.jmh.annotations.Fork;
+
+/** Uses the SDK directly, without the agent bridging the API. */
+@Fork(jvmArgsAppend = "-Dotel.javaagent.enabled=false")
+public class ApiWithAgentDisabledBenchmark extends ApiBenchmark {
+
+  @Override
+  protected OpenTelemetry openTelemetry() {
+    // like the agent, no exporter
+    return OpenTelemetrySdk.builder()
+        .setTracerProvider(SdkTracerProvider.builder().build())
+        .build();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of propagating the context to many tiny tasks, see the {@code
+ * gc.alloc.rate.norm} results for the allocations per task. The context is attached to the tasks
+ * that can hold a field, and lambdas are wrapped in a runnable that embeds the context. The virtual
+ * thread executor benchmark requires java 21.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+  private static final int TASKS = 1_000;
+
+  private ThreadPoolExecutor threadPoolExecutor;
+  private ForkJoinPool forkJoinPool;
+  private Span span;
+
+  @Setup
+  public void setUp() {
+    threadPoolExecutor = new ThreadPoolExecutor(4, 4, 0, MILLISECONDS, new LinkedBlockingQueue<>());
+    forkJoinPool = new ForkJoinPool(4);
+    span = GlobalOpenTelemetry.getTracer("benchmark").spanBuilder("parent").startSpan();
+  }
+
+  @TearDown
+  public void tearDown() {
+    threadPoolExecutor.shutdown();
+    forkJoinPool.shutdown();
+    span.end();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void threadPoolExecutor() throws InterruptedException {
+    submitTasks(threadPoolExecutor, false);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void threadPoolExecutorLambda() throws InterruptedException {
+    submitTasks(threadPoolExecutor, true);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public long forkJoinPool() {
+    try (io.opentelemetry.context.Scope ignored = span.makeCurrent()) {
+      // nested fork/join, most subtasks are run by the worker that forked them
+      return forkJoinPool.invoke(new Sum(0, TASKS));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void virtualThreadExecutor(VirtualThreads virtualThreads) throws InterruptedException {
+    submitTasks(virtualThreads.executor, false);
+  }
+
+  private void submitTasks(ExecutorService executor, boolean lambda) throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(TASKS);
+    try (io.opentelemetry.context.Scope ignored = span.makeCurrent()) {
+      for (int i = 0; i < TASKS; i++) {
+        executor.execute(lambda ? latch::countDown : new CountDownTask(latch));
+      }
+    }
+    latch.await();
+  }
+
+  @State(Scope.Benchmark)
+  public static class VirtualThreads {
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws Throwable {
+      executor =
+          (ExecutorService)
+              MethodHandles.publicLookup()
+                  .findStatic(
+                      Executors.class,
+                      "newVirtualThreadPerTaskExecutor",
+                      MethodType.methodType(ExecutorService.class))
+                  .invoke();
+    }
+
+    @TearDown
+    public void tearDown() {
+      executor.shutdown();
+    }
+  }
+
+  // not a lambda, so that the context is attached to the task instead of wrapping it
+  private static class CountDownTask implements Runnable {
+    private final CountDownLatch latch;
+
+    private CountDownTask(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      latch.countDown();
+    }
+  }
+
+  private static class Sum extends RecursiveTask<Long> {
+    private final int from;
+    private final int to;
+
+    private Sum(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Long compute() {
+      if (to - from <= 1) {
+        return (long) from;
+      }
+      int middle = (from + to) >>> 1;
+      Sum left = new Sum(from, middle);
+      left.fork();
+      return new Sum(middle, to).compute() + left.join();
+    }
+  }
+}
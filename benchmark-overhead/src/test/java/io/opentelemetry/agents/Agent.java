@@ -29,6 +29,24 @@ public class Agent {
           null,
           Collections.singletonList("-Dotel.javaagent.experimental.indy=true"));
 
+  // shared by the cold and the warm run, unique per test run so that the cold run starts empty
+  private static final String MUZZLE_CACHE_DIR =
+      "/results/muzzle-cache-" + System.currentTimeMillis();
+  public static final Agent LATEST_SNAPSHOT_MUZZLE_CACHE_COLD =
+      new Agent(
+          "snapshot-muzzle-cache-cold",
+          "latest available snapshot version from main with an empty muzzle cache",
+          null,
+          Collections.singletonList(
+              "-Dotel.javaagent.experimental.muzzle-cache.dir=" + MUZZLE_CACHE_DIR));
+  public static final Agent LATEST_SNAPSHOT_MUZZLE_CACHE_WARM =
+      new Agent(
+          "snapshot-muzzle-cache-warm",
+          "latest available snapshot version from main with the muzzle cache of the cold run",
+          null,
+          Collections.singletonList(
+              "-Dotel.javaagent.experimental.muzzle-cache.dir=" + MUZZLE_CACHE_DIR));
+
   private final String name;
   private final String description;
   private final URL url;
@@ -18,6 +18,18 @@ public enum Configs {
           .withAgents(
               Agent.NONE, Agent.LATEST_RELEASE, Agent.LATEST_SNAPSHOT, Agent.LATEST_SNAPSHOT_INDY)
           .warmupSeconds(60)
+          .build()),
+  MUZZLE_CACHE(
+      TestConfig.builder()
+          .name("muzzle-cache")
+          .description(
+              "compares startup of the latest snapshot with a cold and a warm muzzle cache")
+          // the warm run reuses the cache written by the cold run, so the order matters
+          .withAgents(
+              Agent.NONE,
+              Agent.LATEST_SNAPSHOT_MUZZLE_CACHE_COLD,
+              Agent.LATEST_SNAPSHOT_MUZZLE_CACHE_WARM)
+          .totalIterations(500)
           .build());
 
   public final TestConfig config;
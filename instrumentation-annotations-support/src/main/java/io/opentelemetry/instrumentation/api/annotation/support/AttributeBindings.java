@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.annotation.support;
 import io.opentelemetry.api.common.AttributesBuilder;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Arrays;
 
 /** Represents the bindings of method parameters to attributes of a traced method. */
 interface AttributeBindings {
@@ -35,18 +36,19 @@ interface AttributeBindings {
    */
   static AttributeBindings bind(
       Method method, ParameterAttributeNamesExtractor parameterAttributeNamesExtractor) {
-    AttributeBindings bindings = EmptyAttributeBindings.INSTANCE;
-
     Parameter[] parameters = method.getParameters();
     if (parameters.length == 0) {
-      return bindings;
+      return EmptyAttributeBindings.INSTANCE;
     }
 
     String[] attributeNames = parameterAttributeNamesExtractor.extract(method, parameters);
     if (attributeNames == null || attributeNames.length != parameters.length) {
-      return bindings;
+      return EmptyAttributeBindings.INSTANCE;
     }
 
+    int[] indexes = new int[parameters.length];
+    AttributeBinding[] bindings = new AttributeBinding[parameters.length];
+    int count = 0;
     for (int i = 0; i < parameters.length; i++) {
       Parameter parameter = parameters[i];
       String attributeName = attributeNames[i];
@@ -54,14 +56,16 @@ interface AttributeBindings {
         continue;
       }
 
-      bindings =
-          new CombinedAttributeBindings(
-              bindings,
-              i,
-              AttributeBindingFactory.createBinding(
-                  attributeName, parameter.getParameterizedType()));
+      indexes[count] = i;
+      bindings[count] =
+          AttributeBindingFactory.createBinding(attributeName, parameter.getParameterizedType());
+      count++;
     }
 
-    return bindings;
+    if (count == 0) {
+      return EmptyAttributeBindings.INSTANCE;
+    }
+    return new CombinedAttributeBindings(
+        Arrays.copyOf(indexes, count), Arrays.copyOf(bindings, count));
   }
 }
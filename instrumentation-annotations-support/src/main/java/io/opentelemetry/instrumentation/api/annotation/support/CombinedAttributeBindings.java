@@ -7,16 +7,17 @@ package io.opentelemetry.instrumentation.api.annotation.support;
 
 import io.opentelemetry.api.common.AttributesBuilder;
 
-/** AttributeBindings implementation that is able to chain multiple AttributeBindings. */
+/**
+ * AttributeBindings implementation that applies the bindings of multiple parameters in a single
+ * loop over arrays.
+ */
 final class CombinedAttributeBindings implements AttributeBindings {
-  private final AttributeBindings parent;
-  private final int index;
-  private final AttributeBinding binding;
+  private final int[] indexes;
+  private final AttributeBinding[] bindings;
 
-  public CombinedAttributeBindings(AttributeBindings parent, int index, AttributeBinding binding) {
-    this.parent = parent;
-    this.index = index;
-    this.binding = binding;
+  CombinedAttributeBindings(int[] indexes, AttributeBinding[] bindings) {
+    this.indexes = indexes;
+    this.bindings = bindings;
   }
 
   @Override
@@ -26,11 +27,16 @@ final class CombinedAttributeBindings implements AttributeBindings {
 
   @Override
   public void apply(AttributesBuilder target, Object[] args) {
-    parent.apply(target, args);
-    if (args != null && args.length > index) {
-      Object arg = args[index];
-      if (arg != null) {
-        binding.apply(target, arg);
+    if (args == null) {
+      return;
+    }
+    for (int i = 0; i < indexes.length; i++) {
+      int index = indexes[i];
+      if (index < args.length) {
+        Object arg = args[index];
+        if (arg != null) {
+          bindings[i].apply(target, arg);
+        }
       }
     }
   }
@@ -19,7 +19,10 @@ import javax.annotation.Nullable;
 final class MethodCache<V> extends ClassValue<Map<Method, V>> implements Cache<Method, V> {
   @Override
   public V computeIfAbsent(Method key, Function<? super Method, ? extends V> mappingFunction) {
-    return this.get(key.getDeclaringClass()).computeIfAbsent(key, mappingFunction);
+    Map<Method, V> map = this.get(key.getDeclaringClass());
+    // ConcurrentHashMap.computeIfAbsent locks the bin even when the key is present on java 8
+    V value = map.get(key);
+    return value != null ? value : map.computeIfAbsent(key, mappingFunction);
   }
 
   @Nullable
@@ -10,6 +10,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 
 /** Extractor of {@link io.opentelemetry.api.common.Attributes} for a traced method. */
@@ -19,7 +20,8 @@ public final class MethodSpanAttributesExtractor<REQUEST, RESPONSE>
   private final MethodExtractor<REQUEST> methodExtractor;
   private final MethodArgumentsExtractor<REQUEST> methodArgumentsExtractor;
   private final Cache<Method, AttributeBindings> cache;
-  private final ParameterAttributeNamesExtractor parameterAttributeNamesExtractor;
+  // created once, a lambda capturing the extractor would be allocated on every call
+  private final Function<Method, AttributeBindings> bindingsFactory;
 
   public static <REQUEST, RESPONSE> MethodSpanAttributesExtractor<REQUEST, RESPONSE> create(
       MethodExtractor<REQUEST> methodExtractor,
@@ -40,16 +42,15 @@ public final class MethodSpanAttributesExtractor<REQUEST, RESPONSE>
       Cache<Method, AttributeBindings> cache) {
     this.methodExtractor = methodExtractor;
     this.methodArgumentsExtractor = methodArgumentsExtractor;
-    this.parameterAttributeNamesExtractor = parameterAttributeNamesExtractor;
+    this.bindingsFactory =
+        method -> AttributeBindings.bind(method, parameterAttributeNamesExtractor);
     this.cache = cache;
   }
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
     Method method = methodExtractor.extract(request);
-    AttributeBindings bindings =
-        cache.computeIfAbsent(
-            method, (Method m) -> AttributeBindings.bind(m, parameterAttributeNamesExtractor));
+    AttributeBindings bindings = cache.computeIfAbsent(method, bindingsFactory);
     if (!bindings.isEmpty()) {
       Object[] args = methodArgumentsExtractor.extract(request);
       bindings.apply(attributes, args);
@@ -9,12 +9,13 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /** Extractor of {@link io.opentelemetry.api.common.Attributes} for a traced method. */
 public final class SpanAttributesExtractor {
 
   private final Cache<Method, AttributeBindings> cache;
-  private final ParameterAttributeNamesExtractor parameterAttributeNamesExtractor;
+  private final Function<Method, AttributeBindings> bindingsFactory;
 
   public static SpanAttributesExtractor create(
       ParameterAttributeNamesExtractor parameterAttributeNamesExtractor) {
@@ -24,15 +25,14 @@ public final class SpanAttributesExtractor {
   SpanAttributesExtractor(
       ParameterAttributeNamesExtractor parameterAttributeNamesExtractor,
       Cache<Method, AttributeBindings> cache) {
-    this.parameterAttributeNamesExtractor = parameterAttributeNamesExtractor;
+    this.bindingsFactory =
+        method -> AttributeBindings.bind(method, parameterAttributeNamesExtractor);
     this.cache = cache;
   }
 
   public Attributes extract(Method method, Object[] args) {
     AttributesBuilder attributes = Attributes.builder();
-    AttributeBindings bindings =
-        cache.computeIfAbsent(
-            method, (Method m) -> AttributeBindings.bind(m, parameterAttributeNamesExtractor));
+    AttributeBindings bindings = cache.computeIfAbsent(method, bindingsFactory);
     if (!bindings.isEmpty()) {
       bindings.apply(attributes, args);
     }
@@ -77,6 +77,30 @@ tasks {
   }
 
   test {
+    filter {
+      excludeTestsMatching("*.SqlQuerySanitizerCacheDisabledTest")
+      excludeTestsMatching("*.SqlQuerySanitizerQueryLengthTest")
+    }
+    inputs.dir(jflexOutputDir)
+  }
+
+  val testSanitizerCacheDisabled by registering(Test::class) {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      includeTestsMatching("*.SqlQuerySanitizerCacheDisabledTest")
+    }
+    jvmArgs("-Dotel.instrumentation.experimental.db-statement-sanitizer.cache-size-bytes=0")
+    inputs.dir(jflexOutputDir)
+  }
+
+  val testSanitizerQueryLength by registering(Test::class) {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      includeTestsMatching("*.SqlQuerySanitizerQueryLengthTest")
+    }
+    jvmArgs("-Dotel.instrumentation.experimental.db-statement-sanitizer.max-query-length=64")
     inputs.dir(jflexOutputDir)
   }
 
@@ -91,6 +115,10 @@ tasks {
   val testStableSemconv by registering(Test::class) {
     testClassesDirs = sourceSets.test.get().output.classesDirs
     classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      excludeTestsMatching("*.SqlQuerySanitizerCacheDisabledTest")
+      excludeTestsMatching("*.SqlQuerySanitizerQueryLengthTest")
+    }
     jvmArgs("-Dotel.semconv-stability.opt-in=database,code,service.peer,rpc")
     inputs.dir(jflexOutputDir)
   }
@@ -98,11 +126,15 @@ tasks {
   val testBothSemconv by registering(Test::class) {
     testClassesDirs = sourceSets.test.get().output.classesDirs
     classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      excludeTestsMatching("*.SqlQuerySanitizerCacheDisabledTest")
+      excludeTestsMatching("*.SqlQuerySanitizerQueryLengthTest")
+    }
     jvmArgs("-Dotel.semconv-stability.opt-in=database/dup,code/dup,service.peer/dup,rpc/dup")
     inputs.dir(jflexOutputDir)
   }
 
   check {
-    dependsOn(testStableSemconv, testBothSemconv)
+    dependsOn(testStableSemconv, testBothSemconv, testSanitizerCacheDisabled, testSanitizerQueryLength)
   }
 }
@@ -16,6 +16,7 @@ import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.incubator.semconv.internal.MetricAttributesInterner;
 import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
@@ -52,6 +53,7 @@ public final class DbClientMetrics implements OperationListener {
   }
 
   private final DoubleHistogram duration;
+  private final MetricAttributesInterner attributesInterner;
 
   private DbClientMetrics(Meter meter) {
     DoubleHistogramBuilder stableDurationBuilder =
@@ -62,6 +64,8 @@ public final class DbClientMetrics implements OperationListener {
             .setExplicitBucketBoundariesAdvice(DbClientMetricsAdvice.DURATION_SECONDS_BUCKETS);
     DbClientMetricsAdvice.applyClientDurationAdvice(stableDurationBuilder);
     duration = stableDurationBuilder.build();
+    attributesInterner =
+        MetricAttributesInterner.create(DbClientMetricsAdvice.CLIENT_DURATION_ATTRIBUTE_KEYS);
   }
 
   @Override
@@ -82,7 +86,7 @@ public final class DbClientMetrics implements OperationListener {
       return;
     }
 
-    Attributes attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    Attributes attributes = attributesInterner.merge(state.startAttributes(), endAttributes);
 
     duration.record((endNanos - state.startTimeNanos()) / NANOS_PER_S, attributes, context);
   }
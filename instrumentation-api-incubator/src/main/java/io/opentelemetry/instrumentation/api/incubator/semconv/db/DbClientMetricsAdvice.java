@@ -19,6 +19,7 @@ import static io.opentelemetry.semconv.ServerAttributes.SERVER_PORT;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import java.util.List;
@@ -28,24 +29,26 @@ final class DbClientMetricsAdvice {
   static final List<Double> DURATION_SECONDS_BUCKETS =
       unmodifiableList(asList(0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1.0, 5.0, 10.0));
 
+  static final List<AttributeKey<?>> CLIENT_DURATION_ATTRIBUTE_KEYS =
+      unmodifiableList(
+          asList(
+              DB_SYSTEM_NAME,
+              DB_COLLECTION_NAME,
+              DB_NAMESPACE,
+              DB_OPERATION_NAME,
+              DB_QUERY_SUMMARY,
+              DB_RESPONSE_STATUS_CODE,
+              ERROR_TYPE,
+              NETWORK_PEER_ADDRESS,
+              NETWORK_PEER_PORT,
+              SERVER_ADDRESS,
+              SERVER_PORT));
+
   static void applyClientDurationAdvice(DoubleHistogramBuilder builder) {
     if (!(builder instanceof ExtendedDoubleHistogramBuilder)) {
       return;
     }
-    ((ExtendedDoubleHistogramBuilder) builder)
-        .setAttributesAdvice(
-            asList(
-                DB_SYSTEM_NAME,
-                DB_COLLECTION_NAME,
-                DB_NAMESPACE,
-                DB_OPERATION_NAME,
-                DB_QUERY_SUMMARY,
-                DB_RESPONSE_STATUS_CODE,
-                ERROR_TYPE,
-                NETWORK_PEER_ADDRESS,
-                NETWORK_PEER_PORT,
-                SERVER_ADDRESS,
-                SERVER_PORT));
+    ((ExtendedDoubleHistogramBuilder) builder).setAttributesAdvice(CLIENT_DURATION_ATTRIBUTE_KEYS);
   }
 
   private DbClientMetricsAdvice() {}
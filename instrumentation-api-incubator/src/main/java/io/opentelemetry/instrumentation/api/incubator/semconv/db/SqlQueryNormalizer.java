@@ -0,0 +1,191 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+/**
+ * Cheap single pass normalization that is applied to queries before looking them up in the
+ * sanitizer cache, so that queries that only differ in their literals share a single cache entry.
+ *
+ * <p>Integer and string literals are replaced with {@code ?}, whitespace is collapsed and {@code IN
+ * (?, ?, ...)} lists are collapsed to {@code IN (?)}. Only text that the sanitizer would replace in
+ * exactly the same way is rewritten, so sanitizing the normalized query produces the same result as
+ * sanitizing the original one, as long as the original query is not longer than the sanitized query
+ * text limit (the sanitizer truncates its result before collapsing {@code IN} lists). Queries
+ * containing constructs that are lexed differently depending on the dialect (dollar quoted
+ * strings, backtick and bracket quoted identifiers) are returned unchanged.
+ */
+final class SqlQueryNormalizer {
+
+  static String normalize(String query) {
+    int length = query.length();
+    StringBuilder builder = new StringBuilder(length);
+    int i = 0;
+    while (i < length) {
+      char c = query.charAt(i);
+      switch (c) {
+        case '$':
+        case '`':
+        case '[':
+          return query;
+        case '\'':
+          {
+            int end = indexOfClosingQuote(query, i);
+            if (end == -1) {
+              return query;
+            }
+            builder.append('?');
+            i = end + 1;
+            continue;
+          }
+        case '"':
+          {
+            // double quoted identifiers are kept as is
+            int end = indexOfClosingQuote(query, i);
+            if (end == -1) {
+              return query;
+            }
+            builder.append(query, i, end + 1);
+            i = end + 1;
+            continue;
+          }
+        case '-':
+          if (i + 1 < length && query.charAt(i + 1) == '-') {
+            // "--" could also be a part of a number like "1e--1"
+            if (i > 0 && isNumberPart(query.charAt(i - 1))) {
+              return query;
+            }
+            // line comments are kept as is
+            int end = indexOfLineEnd(query, i);
+            builder.append(query, i, end);
+            i = end;
+            continue;
+          }
+          break;
+        case ')':
+          builder.append(c);
+          collapseInList(builder);
+          i++;
+          continue;
+        default:
+          if (isWhitespace(c)) {
+            builder.append(' ');
+            i++;
+            while (i < length && isWhitespace(query.charAt(i))) {
+              i++;
+            }
+            continue;
+          }
+          if (isDigit(c) && (i == 0 || isBeforeNumber(query.charAt(i - 1)))) {
+            int end = i + 1;
+            while (end < length && isDigit(query.charAt(end))) {
+              end++;
+            }
+            if (end == length || isAfterNumber(query.charAt(end))) {
+              builder.append('?');
+              i = end;
+              continue;
+            }
+          }
+      }
+      builder.append(c);
+      i++;
+    }
+    return builder.toString();
+  }
+
+  // returns the index of the quote that closes the quoted text starting at start, doubled quotes
+  // are an escaped quote
+  private static int indexOfClosingQuote(String query, int start) {
+    char quote = query.charAt(start);
+    int i = start + 1;
+    while (true) {
+      int end = query.indexOf(quote, i);
+      if (end == -1) {
+        return -1;
+      }
+      if (end + 1 < query.length() && query.charAt(end + 1) == quote) {
+        i = end + 2;
+        continue;
+      }
+      return end;
+    }
+  }
+
+  private static int indexOfLineEnd(String query, int start) {
+    for (int i = start; i < query.length(); i++) {
+      char c = query.charAt(i);
+      if (c == '\r' || c == '\n') {
+        return i;
+      }
+    }
+    return query.length();
+  }
+
+  // replaces "IN (?, ?, ...)" at the end of the builder with "IN (?)", same as the sanitizer does
+  private static void collapseInList(StringBuilder builder) {
+    int i = builder.length() - 2;
+    while (true) {
+      i = skipSpaceBackwards(builder, i);
+      if (i < 0 || builder.charAt(i) != '?') {
+        return;
+      }
+      i = skipSpaceBackwards(builder, i - 1);
+      if (i < 0) {
+        return;
+      }
+      char c = builder.charAt(i);
+      if (c == '(') {
+        break;
+      }
+      if (c != ',') {
+        return;
+      }
+      i--;
+    }
+    int openParen = i;
+    i = skipSpaceBackwards(builder, i - 1);
+    if (i < 2
+        || Character.toUpperCase(builder.charAt(i)) != 'N'
+        || Character.toUpperCase(builder.charAt(i - 1)) != 'I'
+        || builder.charAt(i - 2) != ' ') {
+      return;
+    }
+    builder.setLength(openParen + 1);
+    builder.append("?)");
+  }
+
+  private static int skipSpaceBackwards(StringBuilder builder, int i) {
+    while (i >= 0 && builder.charAt(i) == ' ') {
+      i--;
+    }
+    return i;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  // characters that can't be a part of a token that contains the following number
+  private static boolean isBeforeNumber(char c) {
+    return isWhitespace(c) || c == ',' || c == '(' || c == '=' || c == '<' || c == '>';
+  }
+
+  // characters that can't be a part of a number token
+  private static boolean isAfterNumber(char c) {
+    return isWhitespace(c) || c == ',' || c == ')' || c == ';';
+  }
+
+  private static boolean isNumberPart(char c) {
+    return isDigit(c) || c == 'e' || c == 'E' || c == '.' || c == '+' || c == '-';
+  }
+
+  // same whitespace characters as in the sanitizer
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private SqlQueryNormalizer() {}
+}
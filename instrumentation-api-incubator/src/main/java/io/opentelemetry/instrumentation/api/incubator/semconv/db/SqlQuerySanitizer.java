@@ -5,11 +5,17 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_SANITIZER_CACHE_BYTES;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_SANITIZER_CACHE_ENTRIES;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_SANITIZER_CACHE_HIT;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_SANITIZER_CACHE_MISS;
 
-import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.WeightedCache;
+import java.util.EnumMap;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 /**
@@ -19,10 +25,69 @@ import javax.annotation.Nullable;
 public final class SqlQuerySanitizer {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
-  private static final Cache<CacheKey, SqlQuery> sqlToQueryCache = Cache.bounded(1000);
-  private static final Cache<CacheKey, SqlQuery> sqlToQueryCacheWithSummary = Cache.bounded(1000);
+  // the caches are bounded by the approximate memory used by the cached strings, not by the number
+  // of entries, so that a few large queries can't retain an unexpected amount of memory
+  @SuppressWarnings("deprecation") // using deprecated config property
+  private static final long CACHE_SIZE_BYTES =
+      ConfigPropertiesUtil.getInt(
+          "otel.instrumentation.experimental.db-statement-sanitizer.cache-size-bytes",
+          2 * 1024 * 1024);
+  // setting the cache size to 0 disables caching
+  private static final boolean CACHE_ENABLED = CACHE_SIZE_BYTES > 0;
+
+  // approximate memory used by the cache entry, key and query objects
+  private static final int CACHE_ENTRY_OVERHEAD_BYTES = 128;
+
+  // the caches are keyed by the query text, one per dialect, so that looking up a query doesn't
+  // need to allocate a key
+  private static final Map<SqlDialect, WeightedCache<String, SqlQuery>> sqlToQueryCache =
+      createCaches();
+  private static final Map<SqlDialect, WeightedCache<String, SqlQuery>>
+      sqlToQueryCacheWithSummary = createCaches();
   private static final int LARGE_QUERY_THRESHOLD = 10 * 1024;
 
+  // max length of the sanitized query text, the sanitizer stops lexing once it has produced this
+  // many characters so that the cost of sanitizing is bounded by this limit and not by the length
+  // of the query
+  @SuppressWarnings("deprecation") // using deprecated config property
+  static final int QUERY_TEXT_LIMIT =
+      Math.max(
+          1,
+          ConfigPropertiesUtil.getInt(
+              "otel.instrumentation.experimental.db-statement-sanitizer.max-query-length",
+              32 * 1024));
+
+  static {
+    supportability.registerGauge(
+        SQL_SANITIZER_CACHE_ENTRIES,
+        () -> {
+          long entries = 0;
+          for (SqlDialect dialect : SqlDialect.values()) {
+            entries += sqlToQueryCache.get(dialect).size();
+            entries += sqlToQueryCacheWithSummary.get(dialect).size();
+          }
+          return entries;
+        });
+    supportability.registerGauge(
+        SQL_SANITIZER_CACHE_BYTES,
+        () -> {
+          long bytes = 0;
+          for (SqlDialect dialect : SqlDialect.values()) {
+            bytes += sqlToQueryCache.get(dialect).weightedSize();
+            bytes += sqlToQueryCacheWithSummary.get(dialect).weightedSize();
+          }
+          return bytes;
+        });
+  }
+
+  private static Map<SqlDialect, WeightedCache<String, SqlQuery>> createCaches() {
+    Map<SqlDialect, WeightedCache<String, SqlQuery>> caches = new EnumMap<>(SqlDialect.class);
+    for (SqlDialect dialect : SqlDialect.values()) {
+      caches.put(dialect, Cache.weighted(Math.max(1, CACHE_SIZE_BYTES), SqlQuerySanitizer::weigh));
+    }
+    return caches;
+  }
+
   public static SqlQuerySanitizer create(boolean querySanitizationEnabled) {
     return new SqlQuerySanitizer(querySanitizationEnabled);
   }
@@ -44,11 +109,11 @@ public final class SqlQuerySanitizer {
     // sanitization result will not be cached for queries larger than the threshold to avoid
     // cache growing too large
     // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/13180
-    if (query.length() > LARGE_QUERY_THRESHOLD) {
+    if (!CACHE_ENABLED || query.length() > LARGE_QUERY_THRESHOLD) {
       return sanitizeImpl(query, dialect);
     }
-    return sqlToQueryCache.computeIfAbsent(
-        CacheKey.create(query, dialect), k -> sanitizeImpl(query, dialect));
+    return getOrSanitize(
+        sqlToQueryCache.get(dialect), query, dialect, AutoSqlSanitizer::sanitize);
   }
 
   private static SqlQuery sanitizeImpl(String query, SqlDialect dialect) {
@@ -69,11 +134,14 @@ public final class SqlQuerySanitizer {
     // sanitization result will not be cached for queries larger than the threshold to avoid
     // cache growing too large
     // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/13180
-    if (query.length() > LARGE_QUERY_THRESHOLD) {
+    if (!CACHE_ENABLED || query.length() > LARGE_QUERY_THRESHOLD) {
       return sanitizeWithSummaryImpl(query, dialect);
     }
-    return sqlToQueryCacheWithSummary.computeIfAbsent(
-        CacheKey.create(query, dialect), k -> sanitizeWithSummaryImpl(query, dialect));
+    return getOrSanitize(
+        sqlToQueryCacheWithSummary.get(dialect),
+        query,
+        dialect,
+        AutoSqlSanitizerWithSummary::sanitize);
   }
 
   private static SqlQuery sanitizeWithSummaryImpl(String query, SqlDialect dialect) {
@@ -81,20 +149,53 @@ public final class SqlQuerySanitizer {
     return AutoSqlSanitizerWithSummary.sanitize(query, dialect);
   }
 
-  // visible for tests
-  static boolean isCached(String query) {
-    return sqlToQueryCache.get(CacheKey.create(query, SqlDialect.DEFAULT)) != null;
+  private static SqlQuery getOrSanitize(
+      Cache<String, SqlQuery> cache, String query, SqlDialect dialect, Sanitizer sanitizer) {
+    // queries without literals (e.g. prepared statements) are cached as is, so the common case is
+    // a single lookup
+    SqlQuery result = cache.get(query);
+    if (result != null) {
+      supportability.incrementCounter(SQL_SANITIZER_CACHE_HIT);
+      return result;
+    }
+    // queries that differ only in literals sanitize to the same result, so they share the cache
+    // entry of the normalized query
+    String normalizedQuery = normalize(query);
+    if (!normalizedQuery.equals(query)) {
+      result = cache.get(normalizedQuery);
+      if (result != null) {
+        supportability.incrementCounter(SQL_SANITIZER_CACHE_HIT);
+        return result;
+      }
+    }
+    supportability.incrementCounter(SQL_SANITIZER_CACHE_MISS);
+    result = sanitizer.sanitize(normalizedQuery, dialect);
+    cache.put(normalizedQuery, result);
+    return result;
   }
 
-  @AutoValue
-  abstract static class CacheKey {
+  private static int weigh(String queryText, SqlQuery query) {
+    return CACHE_ENTRY_OVERHEAD_BYTES
+        + 2 * (queryText.length() + length(query.getQueryText()))
+        + 2 * length(query.getQuerySummary());
+  }
 
-    static CacheKey create(String queryText, SqlDialect dialect) {
-      return new AutoValue_SqlQuerySanitizer_CacheKey(queryText, dialect);
-    }
+  private static int length(@Nullable String string) {
+    return string == null ? 0 : string.length();
+  }
 
-    abstract String getQueryText();
+  // queries longer than the query text limit are truncated by the sanitizer before IN lists are
+  // collapsed, so they don't sanitize to the same result as their normalized form
+  private static String normalize(String query) {
+    return query.length() > QUERY_TEXT_LIMIT ? query : SqlQueryNormalizer.normalize(query);
+  }
+
+  // visible for tests
+  static boolean isCached(String query) {
+    return sqlToQueryCache.get(SqlDialect.DEFAULT).get(normalize(query)) != null;
+  }
 
-    abstract SqlDialect getDialect();
+  private interface Sanitizer {
+    SqlQuery sanitize(String query, SqlDialect dialect);
   }
 }
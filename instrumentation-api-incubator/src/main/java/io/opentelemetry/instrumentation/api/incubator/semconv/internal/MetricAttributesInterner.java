@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Merges the start and end attributes of an operation into the attributes recorded by operation
+ * metrics.
+ *
+ * <p>By default all start and end attributes are recorded, and the SDK applies the metric
+ * attributes advice or the configured views. When {@code
+ * otel.instrumentation.experimental.metrics.record-advised-attributes-only} is set, every attribute
+ * that is not one of the keys passed to {@link #create(List)} (the metric attributes advice) is
+ * dropped before recording, so views can't select any other attribute. The resulting attribute
+ * sets are interned, keyed by the extracted attribute values, and steady state recording reuses
+ * the same {@link Attributes} instance for every series. The interned attributes are looked up with
+ * a key that is reused by each thread, so a lookup that finds the attributes doesn't allocate.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class MetricAttributesInterner {
+
+  @SuppressWarnings("deprecation") // using deprecated config property
+  private static final boolean RECORD_ADVISED_ATTRIBUTES_ONLY =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.metrics.record-advised-attributes-only", false);
+
+  // upper bound on the number of interned series per metric, high cardinality attribute sets will
+  // just be evicted
+  private static final int MAX_INTERNED_ATTRIBUTES = 1000;
+
+  private final AttributeKey<?>[] keys;
+  @Nullable private final Cache<ValuesKey, Attributes> interned;
+  private final ThreadLocal<ValuesKey> lookupKeys;
+
+  public static MetricAttributesInterner create(List<AttributeKey<?>> keys) {
+    return create(keys, RECORD_ADVISED_ATTRIBUTES_ONLY);
+  }
+
+  // visible for testing
+  static MetricAttributesInterner create(
+      List<AttributeKey<?>> keys, boolean recordAdvisedAttributesOnly) {
+    return new MetricAttributesInterner(
+        keys.toArray(new AttributeKey<?>[0]),
+        recordAdvisedAttributesOnly ? Cache.bounded(MAX_INTERNED_ATTRIBUTES) : null);
+  }
+
+  private MetricAttributesInterner(
+      AttributeKey<?>[] keys, @Nullable Cache<ValuesKey, Attributes> interned) {
+    this.keys = keys;
+    this.interned = interned;
+    this.lookupKeys = ThreadLocal.withInitial(() -> new ValuesKey(new Object[keys.length]));
+  }
+
+  /**
+   * Returns the attributes to record, end attributes take precedence over start attributes with
+   * the same key. Only the advised attributes are returned when recording advised attributes only
+   * is enabled.
+   */
+  public Attributes merge(Attributes startAttributes, Attributes endAttributes) {
+    if (interned == null) {
+      return startAttributes.toBuilder().putAll(endAttributes).build();
+    }
+
+    ValuesKey lookupKey = lookupKeys.get();
+    Object[] values = lookupKey.values;
+    int hash = 1;
+    for (int i = 0; i < keys.length; i++) {
+      Object value = endAttributes.get(keys[i]);
+      if (value == null) {
+        value = startAttributes.get(keys[i]);
+      }
+      values[i] = value;
+      hash = 31 * hash + (value != null ? value.hashCode() : 0);
+    }
+    lookupKey.hash = hash;
+
+    Attributes attributes = interned.get(lookupKey);
+    if (attributes == null) {
+      // the lookup key is reused, the cache needs its own copy
+      ValuesKey key = new ValuesKey(values.clone());
+      key.hash = hash;
+      attributes = toAttributes(key.values);
+      interned.put(key, attributes);
+    }
+    // don't keep the values of the last recording reachable from the thread
+    Arrays.fill(values, null);
+    return attributes;
+  }
+
+  private Attributes toAttributes(Object[] values) {
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < keys.length; i++) {
+      Object value = values[i];
+      if (value != null) {
+        put(builder, keys[i], value);
+      }
+    }
+    return builder.build();
+  }
+
+  @SuppressWarnings("unchecked") // values were read using the same key
+  private static <T> void put(AttributesBuilder builder, AttributeKey<T> key, Object value) {
+    builder.put(key, (T) value);
+  }
+
+  private static final class ValuesKey {
+    private final Object[] values;
+    private int hash;
+
+    private ValuesKey(Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ValuesKey)) {
+        return false;
+      }
+      ValuesKey other = (ValuesKey) obj;
+      return hash == other.hash && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -16,6 +16,7 @@ import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.incubator.semconv.internal.MetricAttributesInterner;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
 import io.opentelemetry.instrumentation.api.internal.OperationMetricsUtil;
@@ -34,6 +35,7 @@ public final class MessagingProducerMetrics implements OperationListener {
   private static final Logger logger = Logger.getLogger(MessagingProducerMetrics.class.getName());
 
   private final DoubleHistogram publishDurationHistogram;
+  private final MetricAttributesInterner attributesInterner;
 
   private MessagingProducerMetrics(Meter meter) {
     DoubleHistogramBuilder durationBuilder =
@@ -44,6 +46,8 @@ public final class MessagingProducerMetrics implements OperationListener {
             .setUnit("s");
     MessagingMetricsAdvice.applyPublishDurationAdvice(durationBuilder);
     publishDurationHistogram = durationBuilder.build();
+    attributesInterner =
+        MetricAttributesInterner.create(MessagingMetricsAdvice.MESSAGING_ATTRIBUTES);
   }
 
   public static OperationMetrics get() {
@@ -69,7 +73,7 @@ public final class MessagingProducerMetrics implements OperationListener {
       return;
     }
 
-    Attributes attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    Attributes attributes = attributesInterner.merge(state.startAttributes(), endAttributes);
 
     publishDurationHistogram.record(
         (endNanos - state.startTimeNanos()) / NANOS_PER_S, attributes, context);
@@ -23,7 +23,7 @@ final class RpcMetricsAdvice {
   // copied from RpcIncubatingAttributes
   private static final AttributeKey<Long> RPC_GRPC_STATUS_CODE =
       AttributeKey.longKey("rpc.grpc.status_code");
-  private static final List<AttributeKey<?>> RPC_METRICS_ATTRIBUTE_KEYS =
+  static final List<AttributeKey<?>> RPC_METRICS_ATTRIBUTE_KEYS =
       asList(
           RpcCommonAttributesExtractor.RPC_SYSTEM,
           RpcCommonAttributesExtractor.RPC_SERVICE,
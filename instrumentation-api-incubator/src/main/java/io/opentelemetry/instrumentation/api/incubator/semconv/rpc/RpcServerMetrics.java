@@ -9,6 +9,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.logging.Level.FINE;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
@@ -17,10 +18,12 @@ import io.opentelemetry.api.metrics.LongHistogramBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.incubator.semconv.internal.MetricAttributesInterner;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
 import io.opentelemetry.instrumentation.api.internal.OperationMetricsUtil;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * {@link OperationListener} which keeps track of <a
@@ -39,6 +42,7 @@ public final class RpcServerMetrics implements OperationListener {
   private final DoubleHistogram serverDurationHistogram;
   private final LongHistogram serverRequestSize;
   private final LongHistogram serverResponseSize;
+  private final MetricAttributesInterner attributesInterner;
 
   private RpcServerMetrics(Meter meter) {
     DoubleHistogramBuilder durationBuilder =
@@ -66,6 +70,8 @@ public final class RpcServerMetrics implements OperationListener {
             .ofLongs();
     RpcMetricsAdvice.applyServerRequestSizeAdvice(responseSizeBuilder);
     serverResponseSize = responseSizeBuilder.build();
+    attributesInterner =
+        MetricAttributesInterner.create(RpcMetricsAdvice.RPC_METRICS_ATTRIBUTE_KEYS);
   }
 
   /**
@@ -94,21 +100,34 @@ public final class RpcServerMetrics implements OperationListener {
           context);
       return;
     }
-    Attributes attributes = state.startAttributes().toBuilder().putAll(endAttributes).build();
+    Attributes attributes = attributesInterner.merge(state.startAttributes(), endAttributes);
     serverDurationHistogram.record(
         (endNanos - state.startTimeNanos()) / NANOS_PER_MS, attributes, context);
 
-    Long rpcServerRequestBodySize = attributes.get(RpcSizeAttributesExtractor.RPC_REQUEST_SIZE);
+    // the sizes are not part of the metric attributes, so they may not be present in the merged
+    // attributes
+    Long rpcServerRequestBodySize =
+        getSize(
+            state.startAttributes(), endAttributes, RpcSizeAttributesExtractor.RPC_REQUEST_SIZE);
     if (rpcServerRequestBodySize != null) {
       serverRequestSize.record(rpcServerRequestBodySize, attributes, context);
     }
 
-    Long rpcServerResponseBodySize = attributes.get(RpcSizeAttributesExtractor.RPC_RESPONSE_SIZE);
+    Long rpcServerResponseBodySize =
+        getSize(
+            state.startAttributes(), endAttributes, RpcSizeAttributesExtractor.RPC_RESPONSE_SIZE);
     if (rpcServerResponseBodySize != null) {
       serverResponseSize.record(rpcServerResponseBodySize, attributes, context);
     }
   }
 
+  @Nullable
+  private static Long getSize(
+      Attributes startAttributes, Attributes endAttributes, AttributeKey<Long> key) {
+    Long size = endAttributes.get(key);
+    return size != null ? size : startAttributes.get(key);
+  }
+
   @AutoValue
   abstract static class State {
 
@@ -0,0 +1,59 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SqlQueryNormalizerTest {
+
+  @ParameterizedTest
+  @MethodSource("normalizeArgs")
+  void normalize(String query, String expected) {
+    assertThat(SqlQueryNormalizer.normalize(query)).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("normalizeArgs")
+  void sanitizesToSameResult(String query, String unused) {
+    String normalized = SqlQueryNormalizer.normalize(query);
+
+    assertThat(AutoSqlSanitizer.sanitize(normalized, SqlDialect.DEFAULT))
+        .isEqualTo(AutoSqlSanitizer.sanitize(query, SqlDialect.DEFAULT));
+    assertThat(AutoSqlSanitizerWithSummary.sanitize(normalized, SqlDialect.DEFAULT))
+        .isEqualTo(AutoSqlSanitizerWithSummary.sanitize(query, SqlDialect.DEFAULT));
+  }
+
+  private static Stream<Arguments> normalizeArgs() {
+    return Stream.of(
+        Arguments.of("SELECT * FROM t WHERE id = 123", "SELECT * FROM t WHERE id = ?"),
+        Arguments.of("SELECT * FROM t WHERE id=123", "SELECT * FROM t WHERE id=?"),
+        Arguments.of("SELECT * FROM t WHERE name = 'it''s'", "SELECT * FROM t WHERE name = ?"),
+        Arguments.of("SELECT *\n  FROM t\tWHERE id IN (1, 2,3)", "SELECT * FROM t WHERE id IN (?)"),
+        Arguments.of("SELECT * FROM t WHERE id in ( ?, ? , ?)", "SELECT * FROM t WHERE id in (?)"),
+        Arguments.of(
+            "SELECT * FROM t WHERE id JOIN (1, 2)", "SELECT * FROM t WHERE id JOIN (?, ?)"),
+        Arguments.of("INSERT INTO t VALUES (1, 'a')", "INSERT INTO t VALUES (?, ?)"),
+        // identifiers, decimals and signed numbers are kept
+        Arguments.of("SELECT col1 FROM t2 WHERE a = 1.5", "SELECT col1 FROM t2 WHERE a = 1.5"),
+        Arguments.of("SELECT * FROM t WHERE a = -1", "SELECT * FROM t WHERE a = -1"),
+        Arguments.of("SELECT * FROM t WHERE a = 0x1F", "SELECT * FROM t WHERE a = 0x1F"),
+        // quoted identifiers and line comments are kept
+        Arguments.of(
+            "SELECT \"col  1\" FROM t WHERE a = 1 -- id  2\nAND b = 3",
+            "SELECT \"col  1\" FROM t WHERE a = ? -- id  2 AND b = ?"),
+        // dialect specific syntax is not normalized
+        Arguments.of("SELECT $$a  1$$", "SELECT $$a  1$$"),
+        Arguments.of("SELECT `a` FROM t WHERE a = 1", "SELECT `a` FROM t WHERE a = 1"),
+        Arguments.of("SELECT [a] FROM t WHERE a = 1", "SELECT [a] FROM t WHERE a = 1"),
+        Arguments.of(
+            "SELECT * FROM t WHERE a = 'unterminated", "SELECT * FROM t WHERE a = 'unterminated"));
+  }
+}
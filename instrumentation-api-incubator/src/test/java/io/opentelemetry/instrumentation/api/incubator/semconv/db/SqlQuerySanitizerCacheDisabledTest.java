@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+// runs with otel.instrumentation.experimental.db-statement-sanitizer.cache-size-bytes=0
+class SqlQuerySanitizerCacheDisabledTest {
+
+  @Test
+  void sanitizesWithoutCaching() {
+    String query = "SELECT * FROM orders WHERE id = 1";
+
+    SqlQuerySanitizer sanitizer = SqlQuerySanitizer.create(true);
+    assertThat(sanitizer.sanitize(query).getQueryText())
+        .isEqualTo("SELECT * FROM orders WHERE id = ?");
+    assertThat(sanitizer.sanitizeWithSummary(query).getQuerySummary())
+        .isEqualTo("SELECT orders");
+    assertThat(SqlQuerySanitizer.isCached(query)).isFalse();
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+// runs with otel.instrumentation.experimental.db-statement-sanitizer.max-query-length=64
+class SqlQuerySanitizerQueryLengthTest {
+
+  @Test
+  void longQueryIsNotNormalized() {
+    StringBuilder longQuery = new StringBuilder("SELECT * FROM orders WHERE id IN (0");
+    for (int i = 1; i < 50; i++) {
+      longQuery.append(", ").append(i);
+    }
+    longQuery.append(")");
+    String shortQuery = "SELECT * FROM orders WHERE id IN (1, 2)";
+    assertThat(longQuery.length()).isGreaterThan(SqlQuerySanitizer.QUERY_TEXT_LIMIT);
+
+    SqlQuerySanitizer sanitizer = SqlQuerySanitizer.create(true);
+    // the long query is truncated before its IN list is collapsed
+    SqlQuery longResult = sanitizer.sanitize(longQuery.toString());
+    assertThat(longResult)
+        .isEqualTo(AutoSqlSanitizer.sanitize(longQuery.toString(), SqlDialect.DEFAULT));
+    assertThat(longResult.getQueryText()).hasSize(SqlQuerySanitizer.QUERY_TEXT_LIMIT);
+
+    // the result of the long query is not reused for the short one, and the other way around
+    assertThat(sanitizer.sanitize(shortQuery).getQueryText())
+        .isEqualTo("SELECT * FROM orders WHERE id IN (?)");
+    assertThat(sanitizer.sanitize(longQuery.toString())).isEqualTo(longResult);
+  }
+}
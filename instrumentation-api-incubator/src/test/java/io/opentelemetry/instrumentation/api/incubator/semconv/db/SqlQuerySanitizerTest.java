@@ -191,6 +191,22 @@ class SqlQuerySanitizerTest {
     }
   }
 
+  @Test
+  void veryLongTokensAreTruncated() {
+    StringBuilder s = new StringBuilder("SELECT * FROM TABLE -- ");
+    for (int i = 0; i < 10000; i++) {
+      s.append("comment ");
+    }
+    SqlQuery result = sanitize(s.toString());
+    assertThat(result.getQueryText()).isEqualTo(s.substring(0, AutoSqlSanitizer.LIMIT));
+    if (emitStableDatabaseSemconv()) {
+      assertThat(result.getQuerySummary()).isEqualTo("SELECT TABLE");
+    } else {
+      assertThat(result.getOperationName()).isEqualTo("SELECT");
+      assertThat(result.getCollectionName()).isEqualTo("TABLE");
+    }
+  }
+
   @Test
   void randomBytesDontCauseExceptionsOrTimeouts() {
     Random r = new Random(0);
@@ -235,6 +251,18 @@ class SqlQuerySanitizerTest {
     assertThat(SqlQuerySanitizer.isCached(largeQuery)).isFalse();
   }
 
+  @Test
+  void queriesDifferingInLiteralsShareCacheEntry() {
+    String query = "SELECT * FROM orders WHERE customer = 'a' AND id IN (1, 2, 3)";
+    String otherQuery = "SELECT * FROM orders WHERE customer = 'b' AND id IN (4, 5)";
+
+    SqlQuery result = SqlQuerySanitizer.create(true).sanitize(query);
+    assertThat(result.getQueryText())
+        .isEqualTo("SELECT * FROM orders WHERE customer = ? AND id IN (?)");
+    assertThat(SqlQuerySanitizer.isCached(otherQuery)).isTrue();
+    assertThat(SqlQuerySanitizer.create(true).sanitize(otherQuery)).isEqualTo(result);
+  }
+
   @Test
   void querySummaryIsTruncated() {
     assumeTrue(emitStableDatabaseSemconv());
@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+class MetricAttributesInternerTest {
+
+  private static final AttributeKey<String> METHOD = stringKey("method");
+  private static final AttributeKey<Long> STATUS = longKey("status");
+  private static final AttributeKey<String> PATH = stringKey("path");
+
+  @Test
+  void recordsAllAttributesByDefault() {
+    MetricAttributesInterner interner =
+        MetricAttributesInterner.create(asList(METHOD, STATUS), false);
+
+    Attributes attributes =
+        interner.merge(
+            Attributes.of(METHOD, "GET", PATH, "/users/1"), Attributes.of(STATUS, 200L));
+
+    assertThat(attributes).isEqualTo(Attributes.of(METHOD, "GET", PATH, "/users/1", STATUS, 200L));
+  }
+
+  @Test
+  void recordsAndInternsAdvisedAttributesOnly() {
+    MetricAttributesInterner interner =
+        MetricAttributesInterner.create(asList(METHOD, STATUS), true);
+
+    Attributes first =
+        interner.merge(
+            Attributes.of(METHOD, "GET", PATH, "/users/1"), Attributes.of(STATUS, 200L));
+    Attributes second =
+        interner.merge(
+            Attributes.of(METHOD, "GET", PATH, "/users/2"), Attributes.of(STATUS, 200L));
+    Attributes other =
+        interner.merge(
+            Attributes.of(METHOD, "GET", PATH, "/users/3"), Attributes.of(STATUS, 404L));
+
+    assertThat(first).isEqualTo(Attributes.of(METHOD, "GET", STATUS, 200L));
+    assertThat(second).isSameAs(first);
+    assertThat(other).isEqualTo(Attributes.of(METHOD, "GET", STATUS, 404L));
+  }
+
+  @Test
+  void endAttributesTakePrecedence() {
+    MetricAttributesInterner interner = MetricAttributesInterner.create(asList(METHOD), true);
+
+    Attributes attributes =
+        interner.merge(Attributes.of(METHOD, "GET"), Attributes.of(METHOD, "_OTHER"));
+
+    assertThat(attributes).isEqualTo(Attributes.of(METHOD, "_OTHER"));
+  }
+
+  @Test
+  void internsAttributesWithMissingValues() {
+    MetricAttributesInterner interner =
+        MetricAttributesInterner.create(asList(METHOD, STATUS), true);
+
+    Attributes first = interner.merge(Attributes.of(METHOD, "GET"), Attributes.empty());
+    Attributes second = interner.merge(Attributes.of(METHOD, "GET"), Attributes.empty());
+    Attributes other = interner.merge(Attributes.empty(), Attributes.of(STATUS, 500L));
+
+    assertThat(first).isEqualTo(Attributes.of(METHOD, "GET"));
+    assertThat(second).isSameAs(first);
+    assertThat(other).isEqualTo(Attributes.of(STATUS, 500L));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.cache;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Cache#bounded(int)} with the previously used {@link ConcurrentLinkedHashMap}
+ * under contention. Keys follow a skewed distribution over a key space twice as large as the cache
+ * capacity, so that the benchmark exercises both hits and evictions.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+public class BoundedCacheContentionBenchmark {
+
+  private static final int CAPACITY = 1000;
+  private static final int KEY_SPACE = 2 * CAPACITY;
+  private static final int KEYS_PER_THREAD = 1 << 14;
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+
+    @Param({"bounded", "concurrentLinkedHashMap"})
+    String implementation = "bounded";
+
+    Function<Integer, Integer> cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      if (implementation.equals("bounded")) {
+        Cache<Integer, Integer> bounded = Cache.bounded(CAPACITY);
+        cache = key -> bounded.computeIfAbsent(key, Function.identity());
+      } else {
+        ConcurrentMap<Integer, Integer> map =
+            new ConcurrentLinkedHashMap.Builder<Integer, Integer>()
+                .maximumWeightedCapacity(CAPACITY)
+                .build();
+        cache = key -> map.computeIfAbsent(key, Function.identity());
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class KeyState {
+
+    final Integer[] keys = new Integer[KEYS_PER_THREAD];
+    int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      Random random = new Random(Thread.currentThread().getId());
+      for (int i = 0; i < keys.length; i++) {
+        // skewed towards small keys, roughly a zipf like distribution
+        double value = random.nextDouble();
+        keys[i] = (int) (KEY_SPACE * value * value * value);
+      }
+    }
+
+    Integer next() {
+      return keys[index++ & (KEYS_PER_THREAD - 1)];
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Integer threads01(CacheState cacheState, KeyState keyState) {
+    return cacheState.cache.apply(keyState.next());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Integer threads04(CacheState cacheState, KeyState keyState) {
+    return cacheState.cache.apply(keyState.next());
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Integer threads16(CacheState cacheState, KeyState keyState) {
+    return cacheState.cache.apply(keyState.next());
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Integer threads64(CacheState cacheState, KeyState keyState) {
+    return cacheState.cache.apply(keyState.next());
+  }
+}
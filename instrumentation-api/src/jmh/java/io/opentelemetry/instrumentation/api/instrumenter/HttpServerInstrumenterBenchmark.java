@@ -0,0 +1,175 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.Experimental;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesExtractor;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesGetter;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import java.net.InetSocketAddress;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a typical HTTP server instrumenter (span attributes, metrics and operation
+ * listener attributes). Look at the {@code gc.alloc.rate.norm} reported by the gc profiler for the
+ * allocations done per request.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class HttpServerInstrumenterBenchmark {
+
+  private static final Object REQUEST = new Object();
+  private static final Object RESPONSE = new Object();
+
+  private static final AttributeKey<String> OPERATION_KEY =
+      AttributeKey.stringKey("benchmark.operation");
+
+  private static final Instrumenter<Object, Object> INSTRUMENTER;
+  private static final Instrumenter<Object, Object> INSTRUMENTER_WITH_OPERATION_ATTRIBUTES;
+
+  static {
+    INSTRUMENTER = builder().buildInstrumenter(SpanKindExtractor.alwaysServer());
+
+    InstrumenterBuilder<Object, Object> builder = builder();
+    Experimental.addOperationListenerAttributesExtractor(
+        builder, new OperationAttributesExtractor());
+    INSTRUMENTER_WITH_OPERATION_ATTRIBUTES =
+        builder.buildInstrumenter(SpanKindExtractor.alwaysServer());
+  }
+
+  private static InstrumenterBuilder<Object, Object> builder() {
+    return Instrumenter.<Object, Object>builder(
+            OpenTelemetry.noop(),
+            "benchmark",
+            HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+        .addAttributesExtractor(
+            HttpServerAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+        .addOperationMetrics(HttpServerMetrics.get());
+  }
+
+  @Benchmark
+  public Context startEnd() {
+    Context context = INSTRUMENTER.start(Context.root(), REQUEST);
+    INSTRUMENTER.end(context, REQUEST, RESPONSE, null);
+    return context;
+  }
+
+  @Benchmark
+  public Context startEndWithOperationListenerAttributes() {
+    Context context = INSTRUMENTER_WITH_OPERATION_ATTRIBUTES.start(Context.root(), REQUEST);
+    INSTRUMENTER_WITH_OPERATION_ATTRIBUTES.end(context, REQUEST, RESPONSE, null);
+    return context;
+  }
+
+  static final class OperationAttributesExtractor implements AttributesExtractor<Object, Object> {
+
+    @Override
+    public void onStart(AttributesBuilder attributes, Context parentContext, Object request) {
+      attributes.put(OPERATION_KEY, "start");
+    }
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        Object request,
+        @Nullable Object response,
+        @Nullable Throwable error) {
+      attributes.put(OPERATION_KEY, "end");
+    }
+  }
+
+  enum ConstantHttpAttributesGetter implements HttpServerAttributesGetter<Object, Object> {
+    INSTANCE;
+
+    private static final InetSocketAddress PEER_ADDRESS =
+        InetSocketAddress.createUnresolved("localhost", 8080);
+
+    @Override
+    public String getHttpRequestMethod(Object unused) {
+      return "GET";
+    }
+
+    @Override
+    public String getUrlScheme(Object unused) {
+      return "https";
+    }
+
+    @Override
+    public String getUrlPath(Object unused) {
+      return "/benchmark/123";
+    }
+
+    @Nullable
+    @Override
+    public String getUrlQuery(Object unused) {
+      return null;
+    }
+
+    @Override
+    public String getHttpRoute(Object unused) {
+      return "/benchmark/{id}";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(Object unused, String name) {
+      if (name.equalsIgnoreCase("user-agent")) {
+        return singletonList("OpenTelemetryBot");
+      }
+      return emptyList();
+    }
+
+    @Override
+    public Integer getHttpResponseStatusCode(
+        Object unused, Object unused2, @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(Object unused, Object unused2, String name) {
+      return emptyList();
+    }
+
+    @Override
+    public String getNetworkProtocolName(Object unused, @Nullable Object unused2) {
+      return "http";
+    }
+
+    @Override
+    public String getNetworkProtocolVersion(Object unused, @Nullable Object unused2) {
+      return "1.1";
+    }
+
+    @Override
+    public InetSocketAddress getNetworkPeerInetSocketAddress(
+        Object request, @Nullable Object response) {
+      return PEER_ADDRESS;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.instrumentation.api.incubator.semconv.internal.MetricAttributesInterner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares merging the start and end attributes of an operation with an attributes builder to
+ * looking up the interned advised attributes. Look at the {@code gc.alloc.rate.norm} reported by
+ * the gc profiler for the allocations done per recording.
+ */
+@Fork(
+    value = 3,
+    jvmArgsAppend =
+        "-Dotel.instrumentation.experimental.metrics.record-advised-attributes-only=true")
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class MetricAttributesInternerBenchmark {
+
+  private static final AttributeKey<String> METHOD = stringKey("http.request.method");
+  private static final AttributeKey<String> ROUTE = stringKey("http.route");
+  private static final AttributeKey<String> SCHEME = stringKey("url.scheme");
+  private static final AttributeKey<Long> STATUS = longKey("http.response.status_code");
+  private static final AttributeKey<String> PATH = stringKey("url.path");
+
+  private static final MetricAttributesInterner INTERNER =
+      MetricAttributesInterner.create(asList(METHOD, ROUTE, SCHEME, STATUS));
+
+  private static final Attributes START_ATTRIBUTES =
+      Attributes.of(METHOD, "GET", ROUTE, "/users/{id}", SCHEME, "https", PATH, "/users/1");
+  private static final Attributes END_ATTRIBUTES = Attributes.of(STATUS, 200L);
+
+  @Benchmark
+  @Threads(1)
+  public Attributes threads01_builder() {
+    return START_ATTRIBUTES.toBuilder().putAll(END_ATTRIBUTES).build();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Attributes threads01_interned() {
+    return INTERNER.merge(START_ATTRIBUTES, END_ATTRIBUTES);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Attributes threads08_builder() {
+    return START_ATTRIBUTES.toBuilder().putAll(END_ATTRIBUTES).build();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Attributes threads08_interned() {
+    return INTERNER.merge(START_ATTRIBUTES, END_ATTRIBUTES);
+  }
+}
@@ -187,9 +187,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (spanLinksExtractors.length != 0) {
+      SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
     UnsafeAttributes attributes = new UnsafeAttributes();
@@ -213,14 +215,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
     context = context.with(span);
 
     if (operationListeners.length != 0) {
-      if (operationListenerAttributesExtractors.length != 0) {
-        UnsafeAttributes operationAttributes = new UnsafeAttributes();
-        operationAttributes.putAll(attributes.asMap());
-        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
-            operationListenerAttributesExtractors) {
-          extractor.onStart(operationAttributes, parentContext, request);
-        }
-        attributes = operationAttributes;
+      // the span has already copied the attributes, so the operation listener attributes can be
+      // added to the same instance instead of copying them into a new one
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          operationListenerAttributesExtractors) {
+        extractor.onStart(attributes, parentContext, request);
       }
 
       // operation listeners run after span start, so that they have access to the current span
@@ -278,14 +277,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
     spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
 
     if (operationListeners.length != 0) {
-      if (operationListenerAttributesExtractors.length != 0) {
-        UnsafeAttributes operationAttributes = new UnsafeAttributes();
-        operationAttributes.putAll(attributes.asMap());
-        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
-            operationListenerAttributesExtractors) {
-          extractor.onEnd(operationAttributes, context, request, response, error);
-        }
-        attributes = operationAttributes;
+      // the span has already copied the attributes, see doStartImpl
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          operationListenerAttributesExtractors) {
+        extractor.onEnd(attributes, context, request, response, error);
       }
 
       long endNanos = getNanos(endTime);
@@ -324,6 +319,17 @@ public class Instrumenter<REQUEST, RESPONSE> {
                 parentContext, request, response, error, startTime, endTime);
           }
 
+          @Override
+          public <RQ, RS> void end(
+              Instrumenter<RQ, RS> instrumenter,
+              Context context,
+              RQ request,
+              @Nullable RS response,
+              @Nullable Throwable error,
+              Instant endTime) {
+            instrumenter.doEnd(context, request, response, error, endTime);
+          }
+
           @Override
           public <REQUEST, RESPONSE> Context suppressSpan(
               Instrumenter<REQUEST, RESPONSE> instrumenter,
@@ -26,6 +26,14 @@ public interface InstrumenterAccess {
       Instant startTime,
       Instant endTime);
 
+  <REQUEST, RESPONSE> void end(
+      Instrumenter<REQUEST, RESPONSE> instrumenter,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      Instant endTime);
+
   <REQUEST, RESPONSE> Context suppressSpan(
       Instrumenter<REQUEST, RESPONSE> instrumenter, Context parentContext, REQUEST request);
 
@@ -16,6 +16,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
 
 /**
@@ -29,6 +30,7 @@ public final class SupportabilityMetrics {
 
   private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(DebugUtil.isAgentDebugEnabled(), logger::fine).start();
@@ -54,11 +56,28 @@ public final class SupportabilityMetrics {
   }
 
   public void incrementCounter(String counterName) {
+    incrementCounter(counterName, 1);
+  }
+
+  /** Adds the {@code value}, e.g. a number of items or an elapsed time, to the counter. */
+  public void incrementCounter(String counterName, long value) {
+    if (!agentDebugEnabled) {
+      return;
+    }
+
+    counters.computeIfAbsent(counterName, k -> new AtomicLong()).addAndGet(value);
+  }
+
+  /**
+   * Registers a gauge whose current value will be reported together with the counters. Registering
+   * a gauge with the same name again replaces the previous one.
+   */
+  public void registerGauge(String gaugeName, LongSupplier valueSupplier) {
     if (!agentDebugEnabled) {
       return;
     }
 
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    gauges.put(gaugeName, valueSupplier);
   }
 
   // visible for testing
@@ -80,6 +99,9 @@ public final class SupportabilityMetrics {
             reporter.accept("Counter '" + counterName + "' : " + value);
           }
         });
+    gauges.forEach(
+        (gaugeName, valueSupplier) ->
+            reporter.accept("Gauge '" + gaugeName + "' : " + valueSupplier.getAsLong()));
   }
 
   // this private method is designed for assignment of the return value
@@ -126,6 +148,10 @@ public final class SupportabilityMetrics {
         emitStableDatabaseSemconv()
             ? "sql sanitizer cache miss"
             : "SqlStatementSanitizer cache miss";
+    public static final String SQL_SANITIZER_CACHE_HIT =
+        emitStableDatabaseSemconv() ? "sql sanitizer cache hit" : "SqlStatementSanitizer cache hit";
+    public static final String SQL_SANITIZER_CACHE_ENTRIES = "sql sanitizer cache entries";
+    public static final String SQL_SANITIZER_CACHE_BYTES = "sql sanitizer cache bytes";
 
     private CounterNames() {}
   }
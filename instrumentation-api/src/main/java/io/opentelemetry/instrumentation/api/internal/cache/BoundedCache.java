@@ -0,0 +1,325 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache with sampled, frequency based eviction.
+ *
+ * <p>Reads are a plain {@link ConcurrentHashMap} lookup plus a lossy, sampled update of a shared
+ * {@link FrequencySketch}, they never take a lock and never wait for other threads. Writes are
+ * striped: every key belongs to one of several segments, each with its own lock and its own share
+ * of the capacity. When a segment is full, a few of its entries are sampled and the one that was
+ * accessed least frequently is evicted. Entries that were only seen once (e.g. during a scan) are
+ * therefore evicted before the frequently used ones, unlike with LRU eviction.
+ *
+ * <p>When a weigher is given, the capacity is the total weight of the entries instead of their
+ * number, and entries are evicted until the new entry fits into its segment. Entries heavier than
+ * the capacity of their segment are not cached.
+ */
+final class BoundedCache<K, V> implements Cache<K, V> {
+
+  private static final int SAMPLE_SIZE = 8;
+  // segments smaller than this would make the eviction too imprecise
+  private static final int MIN_SEGMENT_CAPACITY = 64;
+  private static final int MAX_SEGMENTS =
+      FrequencySketch.ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+  // every segment of a weighted cache gets at least an eighth of the capacity, so that large
+  // entries still fit into their segment
+  private static final int MAX_WEIGHTED_SEGMENTS = Math.min(MAX_SEGMENTS, 8);
+
+  private final ConcurrentHashMap<K, Node<K, V>> map;
+  private final FrequencySketch sketch;
+  private final Segment<K, V>[] segments;
+  private final int segmentMask;
+  private final long capacity;
+  @Nullable private final ToIntBiFunction<? super K, ? super V> weigher;
+
+  BoundedCache(int capacity) {
+    this(capacity, MAX_SEGMENTS);
+  }
+
+  // visible for testing
+  BoundedCache(int capacity, int maxSegments) {
+    this(capacity, null, capacity, maxSegments);
+  }
+
+  /**
+   * Creates a cache bounded by the total weight of its entries, sized for {@code expectedSize}
+   * entries.
+   */
+  BoundedCache(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, int expectedSize) {
+    this(maximumWeight, weigher, expectedSize, MAX_WEIGHTED_SEGMENTS);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private BoundedCache(
+      long capacity,
+      @Nullable ToIntBiFunction<? super K, ? super V> weigher,
+      int expectedSize,
+      int maxSegments) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    int segmentCount = 1;
+    while (segmentCount < maxSegments
+        && expectedSize / (segmentCount * 2) >= MIN_SEGMENT_CAPACITY) {
+      segmentCount *= 2;
+    }
+    map = new ConcurrentHashMap<>(Math.min(expectedSize, 1024));
+    sketch = new FrequencySketch(expectedSize);
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // distribute the remainder so that the total capacity is exactly the requested one
+      long segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+      int initialNodes =
+          weigher == null ? (int) segmentCapacity : Math.min(expectedSize / segmentCount + 1, 64);
+      segments[i] = new Segment<>(map, sketch, segmentCapacity, initialNodes, i + 1);
+    }
+    segmentMask = segmentCount - 1;
+    this.capacity = capacity;
+    this.weigher = weigher;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    sketch.increment(key);
+    Node<K, V> node = map.get(key);
+    if (node != null) {
+      return node.value;
+    }
+    // like ConcurrentMap.computeIfAbsent the mapping function may be called more than once when
+    // several threads load the same key at the same time
+    V value = mappingFunction.apply(key);
+    // null values are not cached, same as in ConcurrentMap.computeIfAbsent
+    if (value != null) {
+      value = segmentFor(key).putIfAbsent(key, value, weigh(key, value));
+    }
+    return value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    sketch.increment(key);
+    Node<K, V> node = map.get(key);
+    return node != null ? node.value : null;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    sketch.increment(key);
+    Node<K, V> node = map.get(key);
+    // replacing the value of a weighted entry may change its weight, which needs the segment lock
+    if (node != null && weigher == null) {
+      node.value = value;
+      return;
+    }
+    segmentFor(key).put(key, value, weigh(key, value));
+  }
+
+  @Override
+  public void remove(K key) {
+    if (map.containsKey(key)) {
+      segmentFor(key).remove(key);
+    }
+  }
+
+  int size() {
+    return map.size();
+  }
+
+  long weightedSize() {
+    long weightedSize = 0;
+    for (Segment<K, V> segment : segments) {
+      weightedSize += segment.weightedSize();
+    }
+    return weightedSize;
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  private int weigh(K key, V value) {
+    if (weigher == null) {
+      return 1;
+    }
+    int weight = weigher.applyAsInt(key, value);
+    if (weight < 1) {
+      throw new IllegalArgumentException("weight must be at least 1");
+    }
+    return weight;
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    // the sketch uses the low bits of the spread hash, use the high ones here
+    return segments[(FrequencySketch.spread(key.hashCode()) >>> 24) & segmentMask];
+  }
+
+  private static final class Node<K, V> {
+    final K key;
+    volatile V value;
+    // guarded by the segment lock
+    int weight;
+    // position in the segment's node array, guarded by the segment lock
+    int index;
+
+    Node(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private static final class Segment<K, V> {
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final FrequencySketch sketch;
+    private final long capacity;
+    // all the entries of this segment, used for sampling eviction candidates, the arrays only grow
+    // when the segment is bounded by weight
+    private Node<K, V>[] nodes;
+    // spread hashes of the keys in nodes, so that sampling doesn't need to touch the nodes
+    private int[] hashes;
+    private int size;
+    private long weightedSize;
+    private int randomSeed;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Segment(
+        ConcurrentHashMap<K, Node<K, V>> map,
+        FrequencySketch sketch,
+        long capacity,
+        int initialNodes,
+        int randomSeed) {
+      this.map = map;
+      this.sketch = sketch;
+      this.capacity = capacity;
+      this.nodes = new Node[Math.max(initialNodes, 1)];
+      this.hashes = new int[nodes.length];
+      this.randomSeed = randomSeed;
+    }
+
+    synchronized V putIfAbsent(K key, V value, int weight) {
+      Node<K, V> existing = map.get(key);
+      if (existing != null) {
+        return existing.value;
+      }
+      // entries that can never fit are not cached
+      if (weight <= capacity) {
+        makeRoom(weight);
+        add(key, value, weight);
+      }
+      return value;
+    }
+
+    synchronized void put(K key, V value, int weight) {
+      Node<K, V> existing = map.get(key);
+      if (existing != null) {
+        existing.value = value;
+        weightedSize += weight - existing.weight;
+        existing.weight = weight;
+        // may also evict the updated entry when it no longer fits
+        makeRoom(0);
+        return;
+      }
+      if (weight <= capacity) {
+        makeRoom(weight);
+        add(key, value, weight);
+      }
+    }
+
+    synchronized long weightedSize() {
+      return weightedSize;
+    }
+
+    synchronized void remove(K key) {
+      Node<K, V> node = map.remove(key);
+      if (node != null) {
+        removeNode(node);
+      }
+    }
+
+    // evicts entries until an entry with the given weight fits into the segment
+    private void makeRoom(int weight) {
+      while (size > 0 && weightedSize + weight > capacity) {
+        Node<K, V> victim = selectVictim();
+        map.remove(victim.key);
+        removeNode(victim);
+      }
+    }
+
+    private void add(K key, V value, int weight) {
+      Node<K, V> node = new Node<>(key, value);
+      node.weight = weight;
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, size * 2);
+        hashes = Arrays.copyOf(hashes, size * 2);
+      }
+      node.index = size;
+      nodes[size] = node;
+      hashes[size] = FrequencySketch.spread(key.hashCode());
+      size++;
+      weightedSize += weight;
+      map.put(key, node);
+    }
+
+    private Node<K, V> selectVictim() {
+      if (size <= SAMPLE_SIZE) {
+        return leastFrequent();
+      }
+      int victim = nextRandom(size);
+      int victimFrequency = sketch.frequency(hashes[victim]);
+      for (int i = 1; i < SAMPLE_SIZE; i++) {
+        int candidate = nextRandom(size);
+        int frequency = sketch.frequency(hashes[candidate]);
+        if (frequency < victimFrequency) {
+          victim = candidate;
+          victimFrequency = frequency;
+        }
+      }
+      return nodes[victim];
+    }
+
+    private Node<K, V> leastFrequent() {
+      int victim = 0;
+      int victimFrequency = sketch.frequency(hashes[0]);
+      for (int i = 1; i < size; i++) {
+        int frequency = sketch.frequency(hashes[i]);
+        if (frequency < victimFrequency) {
+          victim = i;
+          victimFrequency = frequency;
+        }
+      }
+      return nodes[victim];
+    }
+
+    // keeps the node array dense by moving the last node into the freed slot
+    private void removeNode(Node<K, V> node) {
+      Node<K, V> last = nodes[--size];
+      nodes[node.index] = last;
+      hashes[node.index] = hashes[size];
+      last.index = node.index;
+      nodes[size] = null;
+      weightedSize -= node.weight;
+    }
+
+    // xorshift, only called while holding the segment lock
+    private int nextRandom(int bound) {
+      int x = randomSeed;
+      x ^= x << 13;
+      x ^= x >>> 17;
+      x ^= x << 5;
+      randomSeed = x;
+      return (int) (((x & 0xffffffffL) * bound) >>> 32);
+    }
+  }
+}
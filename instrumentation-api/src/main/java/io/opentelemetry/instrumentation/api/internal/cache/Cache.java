@@ -5,8 +5,8 @@
 
 package io.opentelemetry.instrumentation.api.internal.cache;
 
-import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -30,12 +30,25 @@ public interface Cache<K, V> {
   /**
    * Returns new bounded cache.
    *
-   * <p>Both keys and values are strongly referenced.
+   * <p>Both keys and values are strongly referenced. When the cache is full, entries that were
+   * accessed least frequently are evicted first.
    */
   static <K, V> Cache<K, V> bounded(int capacity) {
-    ConcurrentLinkedHashMap<K, V> map =
-        new ConcurrentLinkedHashMap.Builder<K, V>().maximumWeightedCapacity(capacity).build();
-    return new MapBackedCache<>(map);
+    return new BoundedCache<>(capacity);
+  }
+
+  /**
+   * Returns new bounded cache whose capacity is the total weight of its entries, as computed by
+   * the {@code weigher}, rather than the number of entries. Each entry must weigh at least 1.
+   *
+   * <p>Both keys and values are strongly referenced. Like {@link #bounded(int)}, reads never take
+   * a lock and the entries that were accessed least frequently are evicted first. Entries weighing
+   * more than an eighth of the {@code maximumWeight} may not be cached at all.
+   */
+  static <K, V> WeightedCache<K, V> weighted(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    int expectedSize = (int) Math.min(maximumWeight, WeightedCache.MAX_EXPECTED_SIZE);
+    return new WeightedCache<>(new BoundedCache<>(maximumWeight, weigher, expectedSize));
   }
 
   /**
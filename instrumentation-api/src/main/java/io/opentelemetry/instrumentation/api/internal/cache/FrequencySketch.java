@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A probabilistic estimate of how often keys have been accessed recently (a count-min sketch with
+ * four 4-bit counters per key, as used by TinyLFU). All counters are halved periodically, so that
+ * keys that were popular a long time ago age out.
+ *
+ * <p>Updates are not atomic: concurrent increments may be lost, which only makes the estimate
+ * slightly less precise. Once a key has been accessed a few times, only a random sample of its
+ * accesses is recorded, and a counter is only written when it is not saturated yet, so frequently
+ * read keys rarely cause writes (and cache line contention). Keys keep their relative order, since
+ * the counters of all frequently used keys grow at the same reduced rate.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_FREQUENCY = 15;
+  private static final int MAX_TABLE_SIZE = 1 << 24;
+  // accesses of keys at least this frequent are sampled
+  private static final int SAMPLING_THRESHOLD = 4;
+  // one in eight accesses of the frequent keys is recorded
+  private static final int SAMPLE_MASK = 7;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(int maximumSize) {
+    int tableSize = ceilingPowerOfTwo(Math.min(Math.max(maximumSize, 8), MAX_TABLE_SIZE));
+    table = new long[tableSize];
+    tableMask = tableSize - 1;
+    sampleSize = (int) Math.min(10L * Math.max(maximumSize, 8), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the estimated number of recent accesses of the key with the given {@link #spread(int)
+   * spread} hash code, at most 15.
+   */
+  int frequency(int hash) {
+    int start = (hash & 3) << 2;
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < 4; i++) {
+      int offset = (start + i) << 2;
+      int count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /** Records an access of the {@code key}. */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    if (frequency(hash) >= SAMPLING_THRESHOLD
+        && (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) != 0) {
+      return;
+    }
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    long value = table[index];
+    if ((value & mask) != mask) {
+      table[index] = value + (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  private void reset() {
+    additions /= 2;
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+  }
+
+  private int indexOf(int hash, int i) {
+    long result = (hash + SEEDS[i]) * SEEDS[i];
+    result += result >>> 32;
+    return ((int) result) & tableMask;
+  }
+
+  static int spread(int hash) {
+    int result = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    result = ((result >>> 16) ^ result) * 0x45d9f3b;
+    return (result >>> 16) ^ result;
+  }
+
+  static int ceilingPowerOfTwo(int x) {
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
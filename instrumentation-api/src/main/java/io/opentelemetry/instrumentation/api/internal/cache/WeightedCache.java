@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded {@link Cache} whose capacity is expressed as the total weight of its entries.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class WeightedCache<K, V> implements Cache<K, V> {
+
+  // the frequency sketch and the segments are sized for at most this many entries, the cache still
+  // holds more entries when they are light enough, with less precise eviction
+  static final int MAX_EXPECTED_SIZE = 8192;
+
+  private final BoundedCache<K, V> delegate;
+
+  WeightedCache(BoundedCache<K, V> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    return delegate.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    delegate.put(key, value);
+  }
+
+  @Override
+  public void remove(K key) {
+    delegate.remove(key);
+  }
+
+  /** Returns the number of cached entries. */
+  public int size() {
+    return delegate.size();
+  }
+
+  /** Returns the total weight of the cached entries. */
+  public long weightedSize() {
+    return delegate.weightedSize();
+  }
+
+  /** Returns the maximum total weight of the cached entries. */
+  public long capacity() {
+    return delegate.capacity();
+  }
+}
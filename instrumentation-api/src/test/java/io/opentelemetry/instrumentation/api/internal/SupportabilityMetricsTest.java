@@ -10,6 +10,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import io.opentelemetry.api.trace.SpanKind;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class SupportabilityMetricsTest {
@@ -71,4 +72,33 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
             "Counter 'some counter' : 1");
   }
+
+  @Test
+  void incrementsCountersByValue() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+
+    metrics.incrementCounter("some counter", 5);
+    metrics.incrementCounter("some counter");
+    metrics.incrementCounter("empty counter", 0);
+
+    metrics.report();
+
+    assertThat(reports).containsExactly("Counter 'some counter' : 6");
+  }
+
+  @Test
+  void reportsGauges() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+
+    AtomicLong value = new AtomicLong(1);
+    metrics.registerGauge("some gauge", value::get);
+
+    metrics.report();
+    value.set(5);
+    metrics.report();
+
+    assertThat(reports).containsExactly("Gauge 'some gauge' : 1", "Gauge 'some gauge' : 5");
+  }
 }
@@ -23,18 +23,83 @@ class CacheTest {
       assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
       cache.remove("bear");
 
-      MapBackedCache<?, ?> mapBackedCache = ((MapBackedCache<?, ?>) cache);
+      BoundedCache<?, ?> boundedCache = ((BoundedCache<?, ?>) cache);
       assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
 
       assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
 
       cache.put("dog", "bark");
       assertThat(cache.get("dog")).isEqualTo("bark");
-      assertThat(mapBackedCache.size()).isEqualTo(1);
+      assertThat(boundedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void boundedEvictsLeastFrequentlyUsed() {
+      Cache<String, String> cache = Cache.bounded(2);
+
+      cache.put("bear", "roar");
+      for (int i = 0; i < 5; i++) {
+        assertThat(cache.get("bear")).isEqualTo("roar");
+      }
+      cache.put("cat", "meow");
+      cache.put("dog", "bark");
+
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(cache.get("cat")).isNull();
+      assertThat(cache.get("dog")).isEqualTo("bark");
+    }
+
+    @Test
+    void boundedSegmentsShareCapacity() {
+      BoundedCache<Integer, Integer> cache = new BoundedCache<>(1000, 8);
+
+      for (int i = 0; i < 10_000; i++) {
+        assertThat(cache.computeIfAbsent(i, key -> key * 2)).isEqualTo(i * 2);
+        assertThat(cache.size()).isLessThanOrEqualTo(1000);
+      }
+      assertThat(cache.size()).isEqualTo(1000);
+
+      cache.remove(9_999);
+      assertThat(cache.get(9_999)).isNull();
+      assertThat(cache.size()).isEqualTo(999);
+    }
+
+    @Test
+    void weighted() {
+      WeightedCache<String, String> cache = Cache.weighted(10, (key, value) -> value.length());
+
+      cache.put("bear", "roar");
+      for (int i = 0; i < 5; i++) {
+        assertThat(cache.get("bear")).isEqualTo("roar");
+      }
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      assertThat(cache.weightedSize()).isEqualTo(8);
+
+      // evicts the least frequently used entry to make room
+      cache.put("dog", "bark");
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(cache.get("cat")).isNull();
+      assertThat(cache.get("dog")).isEqualTo("bark");
+      assertThat(cache.weightedSize()).isEqualTo(8);
+      assertThat(cache.size()).isEqualTo(2);
+
+      // replacing a value updates the weight
+      cache.put("dog", "wo");
+      assertThat(cache.weightedSize()).isEqualTo(6);
+
+      // entries heavier than the capacity are not cached
+      assertThat(cache.computeIfAbsent("whale", unused -> "aaaaaaaaaaaaaaaaaaaa"))
+          .isEqualTo("aaaaaaaaaaaaaaaaaaaa");
+      assertThat(cache.get("whale")).isNull();
+      assertThat(cache.weightedSize()).isEqualTo(6);
+
+      cache.remove("bear");
+      assertThat(cache.weightedSize()).isEqualTo(2);
+      assertThat(cache.capacity()).isEqualTo(10);
+    }
   }
 
   @Nested
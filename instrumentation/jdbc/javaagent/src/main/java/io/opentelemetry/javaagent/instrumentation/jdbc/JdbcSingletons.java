@@ -35,6 +35,7 @@ public final class JdbcSingletons {
       createDataSourceInstrumenter(GlobalOpenTelemetry.get(), true);
   private static final SqlCommenter SQL_COMMENTER = configureSqlCommenter();
   public static final boolean CAPTURE_QUERY_PARAMETERS;
+  public static final boolean QUERY_SANITIZATION_ENABLED;
 
   static {
     AttributesExtractor<DbRequest, Void> servicePeerExtractor =
@@ -44,15 +45,17 @@ public final class JdbcSingletons {
     CAPTURE_QUERY_PARAMETERS =
         DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "jdbc")
             .getBoolean("capture_query_parameters/development", false);
+    QUERY_SANITIZATION_ENABLED =
+        DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "jdbc")
+            .get("statement_sanitizer")
+            .getBoolean("enabled", AgentCommonConfig.get().isQuerySanitizationEnabled());
 
     STATEMENT_INSTRUMENTER =
         JdbcInstrumenterFactory.createStatementInstrumenter(
             GlobalOpenTelemetry.get(),
             singletonList(servicePeerExtractor),
             true,
-            DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "jdbc")
-                .get("statement_sanitizer")
-                .getBoolean("enabled", AgentCommonConfig.get().isQuerySanitizationEnabled()),
+            QUERY_SANITIZATION_ENABLED,
             CAPTURE_QUERY_PARAMETERS);
 
     TRANSACTION_INSTRUMENTER =
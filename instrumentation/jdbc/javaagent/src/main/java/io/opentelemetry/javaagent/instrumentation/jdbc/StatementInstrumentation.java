@@ -100,7 +100,11 @@ public class StatementInstrumentation implements TypeInstrumentation {
         return sql;
       }
 
-      JdbcData.addStatementBatch(statement, sql);
+      JdbcData.addStatementBatch(
+          statement,
+          sql,
+          JdbcSingletons.QUERY_SANITIZATION_ENABLED,
+          JdbcSingletons.CAPTURE_QUERY_PARAMETERS);
       return JdbcSingletons.processSql(statement, sql, true);
     }
   }
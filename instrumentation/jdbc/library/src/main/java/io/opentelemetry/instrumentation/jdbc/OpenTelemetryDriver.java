@@ -277,6 +277,8 @@ public final class OpenTelemetryDriver implements Driver {
     Instrumenter<DbRequest, Void> statementInstrumenter =
         JdbcInstrumenterFactory.createStatementInstrumenter(openTelemetry);
 
+    boolean querySanitizationEnabled =
+        JdbcInstrumenterFactory.querySanitizationEnabled(openTelemetry);
     boolean captureQueryParameters = JdbcInstrumenterFactory.captureQueryParameters(openTelemetry);
     Instrumenter<DbRequest, Void> transactionInstrumenter =
         JdbcInstrumenterFactory.createTransactionInstrumenter(openTelemetry);
@@ -286,6 +288,7 @@ public final class OpenTelemetryDriver implements Driver {
         dbInfo,
         statementInstrumenter,
         transactionInstrumenter,
+        querySanitizationEnabled,
         captureQueryParameters,
         getSqlCommenter(openTelemetry));
   }
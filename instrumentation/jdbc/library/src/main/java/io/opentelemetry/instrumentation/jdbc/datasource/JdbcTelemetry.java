@@ -28,6 +28,7 @@ public final class JdbcTelemetry {
   private final Instrumenter<DataSource, DbInfo> dataSourceInstrumenter;
   private final Instrumenter<DbRequest, Void> statementInstrumenter;
   private final Instrumenter<DbRequest, Void> transactionInstrumenter;
+  private final boolean querySanitizationEnabled;
   private final boolean captureQueryParameters;
   private final SqlCommenter sqlCommenter;
 
@@ -35,11 +36,13 @@ public final class JdbcTelemetry {
       Instrumenter<DataSource, DbInfo> dataSourceInstrumenter,
       Instrumenter<DbRequest, Void> statementInstrumenter,
       Instrumenter<DbRequest, Void> transactionInstrumenter,
+      boolean querySanitizationEnabled,
       boolean captureQueryParameters,
       SqlCommenter sqlCommenter) {
     this.dataSourceInstrumenter = dataSourceInstrumenter;
     this.statementInstrumenter = statementInstrumenter;
     this.transactionInstrumenter = transactionInstrumenter;
+    this.querySanitizationEnabled = querySanitizationEnabled;
     this.captureQueryParameters = captureQueryParameters;
     this.sqlCommenter = sqlCommenter;
   }
@@ -50,6 +53,7 @@ public final class JdbcTelemetry {
         this.dataSourceInstrumenter,
         this.statementInstrumenter,
         this.transactionInstrumenter,
+        this.querySanitizationEnabled,
         this.captureQueryParameters,
         this.sqlCommenter);
   }
@@ -95,6 +95,7 @@ public final class JdbcTelemetryBuilder {
         dataSourceInstrumenter,
         statementInstrumenter,
         transactionInstrumenter,
+        querySanitizationEnabled,
         captureQueryParameters,
         sqlCommenterBuilder.build());
   }
@@ -45,6 +45,7 @@ public class OpenTelemetryDataSource implements DataSource, AutoCloseable {
   private final Instrumenter<DataSource, DbInfo> dataSourceInstrumenter;
   private final Instrumenter<DbRequest, Void> statementInstrumenter;
   private final Instrumenter<DbRequest, Void> transactionInstrumenter;
+  private final boolean querySanitizationEnabled;
   private final boolean captureQueryParameters;
   private final SqlCommenter sqlCommenter;
   private volatile DbInfo cachedDbInfo;
@@ -63,12 +64,14 @@ public class OpenTelemetryDataSource implements DataSource, AutoCloseable {
       Instrumenter<DataSource, DbInfo> dataSourceInstrumenter,
       Instrumenter<DbRequest, Void> statementInstrumenter,
       Instrumenter<DbRequest, Void> transactionInstrumenter,
+      boolean querySanitizationEnabled,
       boolean captureQueryParameters,
       SqlCommenter sqlCommenter) {
     this.delegate = delegate;
     this.dataSourceInstrumenter = dataSourceInstrumenter;
     this.statementInstrumenter = statementInstrumenter;
     this.transactionInstrumenter = transactionInstrumenter;
+    this.querySanitizationEnabled = querySanitizationEnabled;
     this.captureQueryParameters = captureQueryParameters;
     this.sqlCommenter = sqlCommenter;
   }
@@ -82,6 +85,7 @@ public class OpenTelemetryDataSource implements DataSource, AutoCloseable {
         dbInfo,
         statementInstrumenter,
         transactionInstrumenter,
+        querySanitizationEnabled,
         captureQueryParameters,
         sqlCommenter);
   }
@@ -95,6 +99,7 @@ public class OpenTelemetryDataSource implements DataSource, AutoCloseable {
         dbInfo,
         statementInstrumenter,
         transactionInstrumenter,
+        querySanitizationEnabled,
         captureQueryParameters,
         sqlCommenter);
   }
@@ -11,6 +11,7 @@ import static java.util.logging.Level.FINE;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
@@ -22,6 +23,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -998,6 +1000,14 @@ public enum JdbcConnectionUrlParser {
 
   private static final Map<String, JdbcConnectionUrlParser> typeParsers = new HashMap<>();
 
+  // the properties read by populateStandardProperties()
+  private static final String[] STANDARD_PROPERTIES = {
+    "user", "databasename", "databaseName", "servername", "serverName", "portnumber", "portNumber"
+  };
+
+  // data sources and connection pools pass the same url instance for every connection they open
+  private static final Cache<String, ParsedUrl> parsedUrls = Cache.weak();
+
   static {
     for (JdbcConnectionUrlParser parser : JdbcConnectionUrlParser.values()) {
       for (String key : parser.typeKeys) {
@@ -1020,6 +1030,41 @@ public enum JdbcConnectionUrlParser {
     if (connectionUrl == null) {
       return DEFAULT;
     }
+    ParsedUrl parsedUrl = parsedUrls.get(connectionUrl);
+    if (parsedUrl != null && parsedUrl.matches(props)) {
+      return parsedUrl.dbInfo;
+    }
+    DbInfo dbInfo = parseUrl(connectionUrl, props);
+    parsedUrls.put(connectionUrl, new ParsedUrl(dbInfo, props));
+    return dbInfo;
+  }
+
+  private static final class ParsedUrl {
+    private final DbInfo dbInfo;
+    // values of the standard properties the url was parsed with
+    private final Object[] standardProperties = new Object[STANDARD_PROPERTIES.length];
+
+    private ParsedUrl(DbInfo dbInfo, Properties props) {
+      this.dbInfo = dbInfo;
+      if (props != null) {
+        for (int i = 0; i < STANDARD_PROPERTIES.length; i++) {
+          standardProperties[i] = props.get(STANDARD_PROPERTIES[i]);
+        }
+      }
+    }
+
+    boolean matches(Properties props) {
+      for (int i = 0; i < STANDARD_PROPERTIES.length; i++) {
+        Object value = props != null ? props.get(STANDARD_PROPERTIES[i]) : null;
+        if (!Objects.equals(standardProperties[i], value)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static DbInfo parseUrl(String connectionUrl, Properties props) {
     // Make this easier and ignore case.
     connectionUrl = connectionUrl.toLowerCase(Locale.ROOT);
 
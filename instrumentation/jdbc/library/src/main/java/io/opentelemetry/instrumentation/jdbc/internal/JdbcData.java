@@ -7,18 +7,19 @@ package io.opentelemetry.instrumentation.jdbc.internal;
 
 import static java.util.Collections.emptyMap;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlQuerySanitizer;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
-import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Set;
 
 /**
  * Holds info associated with JDBC connections and prepared statements.
@@ -28,7 +29,9 @@ import java.util.WeakHashMap;
  */
 public final class JdbcData {
 
-  private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
+  // weak caches compare keys by identity, interning needs equality, there are only a few distinct
+  // db infos in an application
+  private static final Cache<DbInfo, DbInfo> dbInfos = Cache.bounded(1000);
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
   public static final VirtualField<PreparedStatement, String> preparedStatement =
@@ -49,26 +52,20 @@ public final class JdbcData {
    * @param dbInfo db info to canonicalize
    * @return db info with same content as input db info. If two equal inputs are given to this
    *     method, both calls will return the same instance. This method may return one instance now
-   *     and a different instance later if the original interned instance was garbage collected.
+   *     and a different instance later if the original interned instance was evicted.
    */
   public static DbInfo intern(DbInfo dbInfo) {
-    synchronized (dbInfos) {
-      WeakReference<DbInfo> reference = dbInfos.get(dbInfo);
-      if (reference != null) {
-        DbInfo result = reference.get();
-        if (result != null) {
-          return result;
-        }
-      }
-      dbInfos.put(dbInfo, new WeakReference<>(dbInfo));
-      return dbInfo;
-    }
+    return dbInfos.computeIfAbsent(dbInfo, key -> key);
   }
 
-  public static void addStatementBatch(Statement statement, String sql) {
+  public static void addStatementBatch(
+      Statement statement,
+      String sql,
+      boolean querySanitizationEnabled,
+      boolean captureQueryParameters) {
     StatementBatchInfo batchInfo = statementBatch.get(statement);
     if (batchInfo == null) {
-      batchInfo = new StatementBatchInfo();
+      batchInfo = new StatementBatchInfo(querySanitizationEnabled, captureQueryParameters);
       statementBatch.set(statement, batchInfo);
     }
     batchInfo.add(sql);
@@ -139,18 +136,73 @@ public final class JdbcData {
    * any time.
    */
   public static final class StatementBatchInfo {
-    private final List<String> queryTexts = new ArrayList<>();
+    // the number of distinct query texts that are kept for a batch before they are reduced to their
+    // sanitized form, when query sanitization is enabled
+    @SuppressWarnings("deprecation") // using deprecated config property
+    private static final int MAX_QUERY_TEXTS =
+        ConfigPropertiesUtil.getInt(
+            "otel.instrumentation.jdbc.experimental.batch-query-texts", 100);
+
+    private static final SqlQuerySanitizer sanitizer = SqlQuerySanitizer.create(true);
+
+    private final boolean querySanitizationEnabled;
+    private final int maxQueryTexts;
+    private Set<String> queryTexts = new LinkedHashSet<>();
+    private boolean sanitized;
+    private long batchSize;
+
+    StatementBatchInfo(boolean querySanitizationEnabled, boolean captureQueryParameters) {
+      this(querySanitizationEnabled, captureQueryParameters, MAX_QUERY_TEXTS);
+    }
+
+    // visible for testing
+    StatementBatchInfo(
+        boolean querySanitizationEnabled, boolean captureQueryParameters, int maxQueryTexts) {
+      // like in SqlClientAttributesExtractor, capturing query parameters disables sanitization
+      this.querySanitizationEnabled = querySanitizationEnabled && !captureQueryParameters;
+      this.maxQueryTexts = maxQueryTexts;
+    }
 
     void add(String sql) {
-      queryTexts.add(sql);
+      batchSize++;
+      if (sanitized) {
+        queryTexts.add(sanitize(sql));
+      } else if (queryTexts.add(sql)
+          && querySanitizationEnabled
+          && queryTexts.size() > maxQueryTexts) {
+        // too many distinct query texts, from now on keep only their distinct sanitized forms,
+        // which are the query texts that are reported
+        Set<String> rawQueryTexts = queryTexts;
+        queryTexts = new LinkedHashSet<>();
+        sanitized = true;
+        for (String rawQueryText : rawQueryTexts) {
+          queryTexts.add(sanitize(rawQueryText));
+        }
+      }
+    }
+
+    private static String sanitize(String sql) {
+      return sanitizer.sanitizeWithSummary(sql).getQueryText();
+    }
+
+    void clear() {
+      queryTexts = new LinkedHashSet<>();
+      sanitized = false;
+      batchSize = 0;
     }
 
+    /**
+     * Returns the distinct query texts of the batch. When query sanitization is enabled and the
+     * batch has more than {@code otel.instrumentation.jdbc.experimental.batch-query-texts}
+     * distinct query texts, their distinct sanitized forms are returned instead. Sanitizing them
+     * again gives the same query texts.
+     */
     public Collection<String> getQueryTexts() {
       return queryTexts;
     }
 
     public long getBatchSize() {
-      return queryTexts.size();
+      return batchSize;
     }
   }
 
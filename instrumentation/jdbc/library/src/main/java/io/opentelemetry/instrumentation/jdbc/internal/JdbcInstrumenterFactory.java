@@ -38,6 +38,17 @@ public final class JdbcInstrumenterFactory {
                 "otel.instrumentation.jdbc.experimental.capture-query-parameters", false));
   }
 
+  @SuppressWarnings("deprecation") // using deprecated config property
+  public static boolean querySanitizationEnabled(OpenTelemetry openTelemetry) {
+    return DeclarativeConfigUtil.getInstrumentationConfig(openTelemetry, "common")
+        .get("database")
+        .get("statement_sanitizer")
+        .getBoolean(
+            "enabled",
+            ConfigPropertiesUtil.getBoolean(
+                "otel.instrumentation.common.db-statement-sanitizer.enabled", true));
+  }
+
   public static Instrumenter<DbRequest, Void> createStatementInstrumenter(
       OpenTelemetry openTelemetry) {
     return createStatementInstrumenter(openTelemetry, captureQueryParameters(openTelemetry));
@@ -45,17 +56,12 @@ public final class JdbcInstrumenterFactory {
 
   static Instrumenter<DbRequest, Void> createStatementInstrumenter(
       OpenTelemetry openTelemetry, boolean captureQueryParameters) {
-    @SuppressWarnings("deprecation") // using deprecated config property
-    boolean querySanitizationEnabled =
-        DeclarativeConfigUtil.getInstrumentationConfig(openTelemetry, "common")
-            .get("database")
-            .get("statement_sanitizer")
-            .getBoolean(
-                "enabled",
-                ConfigPropertiesUtil.getBoolean(
-                    "otel.instrumentation.common.db-statement-sanitizer.enabled", true));
     return createStatementInstrumenter(
-        openTelemetry, emptyList(), true, querySanitizationEnabled, captureQueryParameters);
+        openTelemetry,
+        emptyList(),
+        true,
+        querySanitizationEnabled(openTelemetry),
+        captureQueryParameters);
   }
 
   public static Instrumenter<DbRequest, Void> createStatementInstrumenter(
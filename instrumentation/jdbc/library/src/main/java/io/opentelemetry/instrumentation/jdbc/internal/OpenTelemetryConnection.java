@@ -56,7 +56,8 @@ public class OpenTelemetryConnection implements Connection {
   private final DbInfo dbInfo;
   protected final Instrumenter<DbRequest, Void> statementInstrumenter;
   protected final Instrumenter<DbRequest, Void> transactionInstrumenter;
-  private final boolean captureQueryParameters;
+  final boolean querySanitizationEnabled;
+  final boolean captureQueryParameters;
   protected final SqlCommenter sqlCommenter;
 
   protected OpenTelemetryConnection(
@@ -64,12 +65,14 @@ public class OpenTelemetryConnection implements Connection {
       DbInfo dbInfo,
       Instrumenter<DbRequest, Void> statementInstrumenter,
       Instrumenter<DbRequest, Void> transactionInstrumenter,
+      boolean querySanitizationEnabled,
       boolean captureQueryParameters,
       SqlCommenter sqlCommenter) {
     this.delegate = delegate;
     this.dbInfo = dbInfo;
     this.statementInstrumenter = statementInstrumenter;
     this.transactionInstrumenter = transactionInstrumenter;
+    this.querySanitizationEnabled = querySanitizationEnabled;
     this.captureQueryParameters = captureQueryParameters;
     this.sqlCommenter = sqlCommenter;
   }
@@ -89,6 +92,7 @@ public class OpenTelemetryConnection implements Connection {
       DbInfo dbInfo,
       Instrumenter<DbRequest, Void> statementInstrumenter,
       Instrumenter<DbRequest, Void> transactionInstrumenter,
+      boolean querySanitizationEnabled,
       boolean captureQueryParameters,
       SqlCommenter sqlCommenter) {
     if (hasJdbc43) {
@@ -97,6 +101,7 @@ public class OpenTelemetryConnection implements Connection {
           dbInfo,
           statementInstrumenter,
           transactionInstrumenter,
+          querySanitizationEnabled,
           captureQueryParameters,
           sqlCommenter);
     }
@@ -105,6 +110,7 @@ public class OpenTelemetryConnection implements Connection {
         dbInfo,
         statementInstrumenter,
         transactionInstrumenter,
+        querySanitizationEnabled,
         captureQueryParameters,
         sqlCommenter);
   }
@@ -451,6 +457,7 @@ public class OpenTelemetryConnection implements Connection {
         DbInfo dbInfo,
         Instrumenter<DbRequest, Void> statementInstrumenter,
         Instrumenter<DbRequest, Void> transactionInstrumenter,
+        boolean querySanitizationEnabled,
         boolean captureQueryParameters,
         SqlCommenter sqlCommenter) {
       super(
@@ -458,6 +465,7 @@ public class OpenTelemetryConnection implements Connection {
           dbInfo,
           statementInstrumenter,
           transactionInstrumenter,
+          querySanitizationEnabled,
           captureQueryParameters,
           sqlCommenter);
     }
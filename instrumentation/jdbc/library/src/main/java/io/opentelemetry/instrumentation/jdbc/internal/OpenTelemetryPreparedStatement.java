@@ -52,6 +52,7 @@ class OpenTelemetryPreparedStatement<S extends PreparedStatement> extends OpenTe
     implements PreparedStatement {
   private final boolean captureQueryParameters;
   private final Map<String, String> parameters;
+  private long batchSize;
 
   public OpenTelemetryPreparedStatement(
       S delegate,
@@ -289,6 +290,12 @@ class OpenTelemetryPreparedStatement<S extends PreparedStatement> extends OpenTe
     batchSize++;
   }
 
+  @Override
+  public void clearBatch() throws SQLException {
+    super.clearBatch();
+    batchSize = 0;
+  }
+
   @SuppressWarnings("UngroupedOverloads")
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader, int length)
@@ -32,8 +32,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
 
 class OpenTelemetryStatement<S extends Statement> implements Statement {
 
@@ -44,8 +42,7 @@ class OpenTelemetryStatement<S extends Statement> implements Statement {
   protected final Instrumenter<DbRequest, Void> instrumenter;
   protected final SqlCommenter sqlCommenter;
 
-  private final List<String> batchCommands = new ArrayList<>();
-  protected long batchSize;
+  private final JdbcData.StatementBatchInfo batchCommands;
 
   OpenTelemetryStatement(
       S delegate,
@@ -69,6 +66,9 @@ class OpenTelemetryStatement<S extends Statement> implements Statement {
     this.query = query;
     this.instrumenter = instrumenter;
     this.sqlCommenter = sqlCommenter;
+    this.batchCommands =
+        new JdbcData.StatementBatchInfo(
+            connection.querySanitizationEnabled, connection.captureQueryParameters);
   }
 
   private String processQuery(String sql) {
@@ -251,14 +251,12 @@ class OpenTelemetryStatement<S extends Statement> implements Statement {
     String processedSql = processQuery(sql);
     delegate.addBatch(processedSql);
     batchCommands.add(sql);
-    batchSize++;
   }
 
   @Override
   public void clearBatch() throws SQLException {
     delegate.clearBatch();
     batchCommands.clear();
-    batchSize = 0;
   }
 
   @Override
@@ -410,7 +408,13 @@ class OpenTelemetryStatement<S extends Statement> implements Statement {
   }
 
   private <T, E extends Exception> T wrapBatchCall(ThrowingSupplier<T, E> callable) throws E {
-    DbRequest request = DbRequest.create(dbInfo, batchCommands, batchSize, emptyMap(), false);
+    DbRequest request =
+        DbRequest.create(
+            dbInfo,
+            batchCommands.getQueryTexts(),
+            batchCommands.getBatchSize(),
+            emptyMap(),
+            false);
     return wrapCall(request, callable);
   }
 }
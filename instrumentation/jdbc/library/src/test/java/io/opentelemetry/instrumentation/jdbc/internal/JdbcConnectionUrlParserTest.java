@@ -49,6 +49,23 @@ class JdbcConnectionUrlParserTest {
     assertThat(JdbcConnectionUrlParser.parse(null, null)).isEqualTo(DEFAULT);
   }
 
+  @Test
+  void testSameUrlWithDifferentProperties() {
+    String url = "jdbc:mysql://my.host/mydb";
+    DbInfo dbInfo = parse(url, null);
+    assertThat(parse(url, new Properties())).isSameAs(dbInfo);
+
+    Properties props = new Properties();
+    props.setProperty("user", "myuser");
+    DbInfo withUser = parse(url, props);
+    assertThat(withUser.getUser()).isEqualTo("myuser");
+    assertThat(withUser.getDb()).isEqualTo("mydb");
+
+    props.setProperty("user", "otheruser");
+    assertThat(parse(url, props).getUser()).isEqualTo("otheruser");
+    assertThat(parse(url, null).getUser()).isNull();
+  }
+
   private static Stream<Arguments> mySqlArguments() {
     return args(
         // https://dev.mysql.com/doc/connector-j/8.0/en/connector-j-reference-jdbc-url-format.html
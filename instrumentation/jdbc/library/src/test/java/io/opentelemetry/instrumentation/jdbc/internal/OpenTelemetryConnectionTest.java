@@ -123,6 +123,7 @@ class OpenTelemetryConnectionTest {
         dbInfo,
         statementInstrumenter,
         transactionInstrumenter,
+        true,
         false,
         SqlCommenter.noop());
   }
@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.jdbc.internal.JdbcData.StatementBatchInfo;
+import org.junit.jupiter.api.Test;
+
+class StatementBatchInfoTest {
+
+  @Test
+  void distinctQueryTexts() {
+    StatementBatchInfo batchInfo = new StatementBatchInfo(true, false, 3);
+    batchInfo.add("INSERT INTO test VALUES(1)");
+    batchInfo.add("INSERT INTO test VALUES(2)");
+    batchInfo.add("INSERT INTO test VALUES(1)");
+
+    assertThat(batchInfo.getQueryTexts())
+        .containsExactly("INSERT INTO test VALUES(1)", "INSERT INTO test VALUES(2)");
+    assertThat(batchInfo.getBatchSize()).isEqualTo(3);
+  }
+
+  @Test
+  void tooManyDistinctQueryTexts() {
+    StatementBatchInfo batchInfo = new StatementBatchInfo(true, false, 3);
+    for (int i = 0; i < 1000; i++) {
+      batchInfo.add("INSERT INTO test VALUES(" + i + ")");
+      batchInfo.add("DELETE FROM test WHERE id = " + i);
+    }
+    batchInfo.add("UPDATE test SET id = 1");
+    batchInfo.add("SELECT * FROM test");
+
+    assertThat(batchInfo.getQueryTexts())
+        .containsExactly(
+            "INSERT INTO test VALUES(?)",
+            "DELETE FROM test WHERE id = ?",
+            "UPDATE test SET id = ?",
+            "SELECT * FROM test");
+    assertThat(batchInfo.getBatchSize()).isEqualTo(2002);
+
+    batchInfo.clear();
+    batchInfo.add("INSERT INTO test VALUES(1)");
+
+    assertThat(batchInfo.getQueryTexts()).containsExactly("INSERT INTO test VALUES(1)");
+    assertThat(batchInfo.getBatchSize()).isEqualTo(1);
+  }
+
+  @Test
+  void querySanitizationDisabled() {
+    StatementBatchInfo batchInfo = new StatementBatchInfo(false, false, 3);
+    for (int i = 0; i < 5; i++) {
+      batchInfo.add("INSERT INTO test VALUES(" + i + ")");
+    }
+
+    assertThat(batchInfo.getQueryTexts()).hasSize(5).contains("INSERT INTO test VALUES(4)");
+    assertThat(batchInfo.getBatchSize()).isEqualTo(5);
+  }
+
+  @Test
+  void captureQueryParameters() {
+    StatementBatchInfo batchInfo = new StatementBatchInfo(true, true, 3);
+    for (int i = 0; i < 5; i++) {
+      batchInfo.add("INSERT INTO test VALUES(" + i + ")");
+    }
+
+    assertThat(batchInfo.getQueryTexts()).hasSize(5).contains("INSERT INTO test VALUES(4)");
+    assertThat(batchInfo.getBatchSize()).isEqualTo(5);
+  }
+}
@@ -1,6 +1,7 @@
 
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -17,6 +18,13 @@ dependencies {
 }
 
 tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      enabled.set(false)
+    }
+  }
+
   test {
     val shadowTask = project(":javaagent").tasks.named<Jar>("shadowJar")
     val testAppTask = project(":instrumentation:jmx-metrics:testing-webapp").tasks.named<War>("war")
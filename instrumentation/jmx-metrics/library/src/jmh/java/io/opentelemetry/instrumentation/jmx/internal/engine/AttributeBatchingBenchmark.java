@@ -0,0 +1,166 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static java.util.Collections.emptyList;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulates a collection cycle of 10 metrics defined on the same MBean. The connection stands in
+ * for a remote connector and counts the round trips, which are reported as the {@code roundTrips}
+ * secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class AttributeBatchingBenchmark {
+
+  private static final int ATTRIBUTE_COUNT = 10;
+
+  private ObjectName objectName;
+  private List<MetricExtractor> extractors;
+  private MBeanServerConnection connection;
+  private CollectionCycle cycle;
+  private BatchingConnection batchingConnection;
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class RoundTrips {
+    public long roundTrips;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      roundTrips = 0;
+    }
+  }
+
+  private RoundTrips counter;
+
+  @Setup
+  public void setUp(RoundTrips roundTrips) throws Exception {
+    counter = roundTrips;
+    MBeanServer server = MBeanServerFactory.newMBeanServer();
+    objectName = new ObjectName("benchmark:type=Test");
+    server.registerMBean(new TestBean(), objectName);
+
+    extractors = new ArrayList<>();
+    for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+      MetricInfo metricInfo = new MetricInfo("metric" + i, null, null, "1", MetricInfo.Type.GAUGE);
+      extractors.add(
+          new MetricExtractor(
+              BeanAttributeExtractor.fromName("Attribute" + i), metricInfo, emptyList()));
+    }
+
+    connection =
+        (MBeanServerConnection)
+            Proxy.newProxyInstance(
+                AttributeBatchingBenchmark.class.getClassLoader(),
+                new Class<?>[] {MBeanServerConnection.class},
+                (proxy, method, args) -> {
+                  // every call would be a network round trip with a remote connector
+                  counter.roundTrips++;
+                  try {
+                    return method.invoke(server, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                });
+    cycle = new CollectionCycle();
+    batchingConnection = new BatchingConnection(connection, cycle);
+  }
+
+  @Benchmark
+  public void individualReads(Blackhole blackhole) {
+    for (MetricExtractor extractor : extractors) {
+      blackhole.consume(
+          extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName));
+    }
+  }
+
+  @Benchmark
+  public void batchedReads(Blackhole blackhole) {
+    cycle.start();
+    for (MetricExtractor extractor : extractors) {
+      blackhole.consume(
+          extractor
+              .getMetricValueExtractor()
+              .extractNumericalAttribute(batchingConnection, objectName));
+    }
+  }
+
+  public static class TestBean implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(String attribute) {
+      return (long) attribute.length();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+      AttributeList result = new AttributeList();
+      for (String attribute : attributes) {
+        result.add(new Attribute(attribute, getAttribute(attribute)));
+      }
+      return result;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[ATTRIBUTE_COUNT];
+      for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+        attributes[i] =
+            new MBeanAttributeInfo(
+                "Attribute" + i, "java.lang.Long", "attribute " + i, true, false, false);
+      }
+      return new MBeanInfo(TestBean.class.getName(), "test bean", attributes, null, null, null);
+    }
+  }
+}
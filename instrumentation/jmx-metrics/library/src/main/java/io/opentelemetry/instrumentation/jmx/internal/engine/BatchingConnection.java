@@ -0,0 +1,319 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.IntrospectionException;
+import javax.management.InvalidAttributeValueException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServerConnection;
+import javax.management.NotCompliantMBeanException;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.ObjectInstance;
+import javax.management.ObjectName;
+import javax.management.QueryExp;
+import javax.management.ReflectionException;
+
+/**
+ * A {@link MBeanServerConnection} reading all the attributes used from an MBean with a single
+ * {@link MBeanServerConnection#getAttributes(ObjectName, String[])} call per {@link
+ * CollectionCycle}, instead of one {@link MBeanServerConnection#getAttribute(ObjectName, String)}
+ * call per attribute and metric. Over a remote connection every call is a network round trip.
+ *
+ * <p>The attributes to read are learned from the {@link #getAttribute(ObjectName, String)} calls,
+ * so the first cycle reads newly used attributes individually. Attributes that can't be read are
+ * read individually too, so that the original exception is reported. The values read are kept
+ * per thread, since each thread runs its own cycle, and no lock is held during the calls to the
+ * MBean server. All the other methods are delegated as is.
+ */
+class BatchingConnection implements MBeanServerConnection {
+
+  // the MBeans not read during the last cycles are forgotten, e.g. because they were
+  // unregistered, their attributes are learned again if they are read again
+  private static final int UNUSED_CYCLES = 8;
+
+  private final MBeanServerConnection delegate;
+  private final CollectionCycle cycle;
+  private final Map<ObjectName, Set<String>> attributeNames = new ConcurrentHashMap<>();
+  private final Map<ObjectName, Long> lastUsed = new ConcurrentHashMap<>();
+  private final AtomicLong prunedCycle = new AtomicLong();
+  private final ThreadLocal<CycleValues> cycleValues = ThreadLocal.withInitial(CycleValues::new);
+
+  BatchingConnection(MBeanServerConnection delegate, CollectionCycle cycle) {
+    this.delegate = delegate;
+    this.cycle = cycle;
+  }
+
+  @Nullable
+  @Override
+  public Object getAttribute(ObjectName name, String attribute)
+      throws MBeanException,
+          AttributeNotFoundException,
+          InstanceNotFoundException,
+          ReflectionException,
+          IOException {
+    long current = cycle.current();
+    if (current == 0) {
+      // not called from a metric callback
+      return delegate.getAttribute(name, attribute);
+    }
+    prune(current);
+    lastUsed.put(name, current);
+
+    CycleValues values = cycleValues.get();
+    if (values.cycle != current) {
+      values.cycle = current;
+      values.beans.clear();
+    }
+    Map<String, Object> beanValues = values.beans.get(name);
+    if (beanValues == null) {
+      beanValues = read(name);
+      values.beans.put(name, beanValues);
+    }
+    if (beanValues.containsKey(attribute)) {
+      return beanValues.get(attribute);
+    }
+
+    // first use of the attribute, or getAttributes() skipped it because it could not be read:
+    // read it individually so that the original exception is thrown
+    Object value = delegate.getAttribute(name, attribute);
+    names(name).add(attribute);
+    beanValues.put(attribute, value);
+    return value;
+  }
+
+  private Map<String, Object> read(ObjectName name)
+      throws InstanceNotFoundException, ReflectionException, IOException {
+    Set<String> names = names(name);
+    Map<String, Object> beanValues = new HashMap<>();
+    if (names.isEmpty()) {
+      return beanValues;
+    }
+    AttributeList attributes;
+    try {
+      attributes = delegate.getAttributes(name, names.toArray(new String[0]));
+    } catch (InstanceNotFoundException e) {
+      // the MBean is gone, forget about it
+      attributeNames.remove(name);
+      lastUsed.remove(name);
+      throw e;
+    }
+    for (Attribute read : attributes.asList()) {
+      beanValues.put(read.getName(), read.getValue());
+    }
+    // stop batching the attributes that could not be read, until they can be read again
+    names.retainAll(beanValues.keySet());
+    return beanValues;
+  }
+
+  private Set<String> names(ObjectName name) {
+    return attributeNames.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet());
+  }
+
+  private void prune(long current) {
+    long pruned = prunedCycle.get();
+    if (pruned < current && prunedCycle.compareAndSet(pruned, current)) {
+      long oldest = cycle.last() - UNUSED_CYCLES;
+      lastUsed.entrySet().removeIf(entry -> entry.getValue() < oldest);
+      attributeNames.keySet().retainAll(lastUsed.keySet());
+    }
+  }
+
+  private static final class CycleValues {
+    private final Map<ObjectName, Map<String, Object>> beans = new HashMap<>();
+    private long cycle;
+  }
+
+  @Override
+  public AttributeList getAttributes(ObjectName name, String[] attributes)
+      throws InstanceNotFoundException, ReflectionException, IOException {
+    return delegate.getAttributes(name, attributes);
+  }
+
+  @Override
+  public ObjectInstance createMBean(String className, ObjectName name)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          IOException {
+    return delegate.createMBean(className, name);
+  }
+
+  @Override
+  public ObjectInstance createMBean(String className, ObjectName name, ObjectName loaderName)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          InstanceNotFoundException,
+          IOException {
+    return delegate.createMBean(className, name, loaderName);
+  }
+
+  @Override
+  public ObjectInstance createMBean(
+      String className, ObjectName name, Object[] params, String[] signature)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          IOException {
+    return delegate.createMBean(className, name, params, signature);
+  }
+
+  @Override
+  public ObjectInstance createMBean(
+      String className,
+      ObjectName name,
+      ObjectName loaderName,
+      Object[] params,
+      String[] signature)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          InstanceNotFoundException,
+          IOException {
+    return delegate.createMBean(className, name, loaderName, params, signature);
+  }
+
+  @Override
+  public void unregisterMBean(ObjectName name)
+      throws InstanceNotFoundException, MBeanRegistrationException, IOException {
+    delegate.unregisterMBean(name);
+  }
+
+  @Override
+  public ObjectInstance getObjectInstance(ObjectName name)
+      throws InstanceNotFoundException, IOException {
+    return delegate.getObjectInstance(name);
+  }
+
+  @Override
+  public Set<ObjectInstance> queryMBeans(ObjectName name, QueryExp query) throws IOException {
+    return delegate.queryMBeans(name, query);
+  }
+
+  @Override
+  public Set<ObjectName> queryNames(ObjectName name, QueryExp query) throws IOException {
+    return delegate.queryNames(name, query);
+  }
+
+  @Override
+  public boolean isRegistered(ObjectName name) throws IOException {
+    return delegate.isRegistered(name);
+  }
+
+  @Override
+  public Integer getMBeanCount() throws IOException {
+    return delegate.getMBeanCount();
+  }
+
+  @Override
+  public void setAttribute(ObjectName name, Attribute attribute)
+      throws InstanceNotFoundException,
+          AttributeNotFoundException,
+          InvalidAttributeValueException,
+          MBeanException,
+          ReflectionException,
+          IOException {
+    delegate.setAttribute(name, attribute);
+  }
+
+  @Override
+  public AttributeList setAttributes(ObjectName name, AttributeList attributes)
+      throws InstanceNotFoundException, ReflectionException, IOException {
+    return delegate.setAttributes(name, attributes);
+  }
+
+  @Override
+  public Object invoke(ObjectName name, String operationName, Object[] params, String[] signature)
+      throws InstanceNotFoundException, MBeanException, ReflectionException, IOException {
+    return delegate.invoke(name, operationName, params, signature);
+  }
+
+  @Override
+  public String getDefaultDomain() throws IOException {
+    return delegate.getDefaultDomain();
+  }
+
+  @Override
+  public String[] getDomains() throws IOException {
+    return delegate.getDomains();
+  }
+
+  @Override
+  public void addNotificationListener(
+      ObjectName name, NotificationListener listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, IOException {
+    delegate.addNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void addNotificationListener(
+      ObjectName name, ObjectName listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, IOException {
+    delegate.addNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void removeNotificationListener(ObjectName name, ObjectName listener)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener);
+  }
+
+  @Override
+  public void removeNotificationListener(
+      ObjectName name, ObjectName listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void removeNotificationListener(ObjectName name, NotificationListener listener)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener);
+  }
+
+  @Override
+  public void removeNotificationListener(
+      ObjectName name, NotificationListener listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo(ObjectName name)
+      throws InstanceNotFoundException, IntrospectionException, ReflectionException, IOException {
+    return delegate.getMBeanInfo(name);
+  }
+
+  @Override
+  public boolean isInstanceOf(ObjectName name, String className)
+      throws InstanceNotFoundException, IOException {
+    return delegate.isInstanceOf(name, className);
+  }
+}
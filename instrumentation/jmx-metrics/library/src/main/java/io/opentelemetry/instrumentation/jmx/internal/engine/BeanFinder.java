@@ -11,19 +11,29 @@ import static java.util.logging.Level.WARNING;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import javax.management.MBeanServer;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 
 /**
  * A class responsible for finding MBeans that match metric definitions specified by a set of
  * MetricDefs.
+ *
+ * <p>Local {@link MBeanServer}s are watched for MBean registrations using {@link
+ * NotificationBeanDiscovery}, remote connections, or servers that can't deliver notifications, are
+ * periodically queried for all the metric definitions.
  */
 class BeanFinder {
 
@@ -42,6 +52,10 @@ class BeanFinder {
   private final long discoveryDelay;
   private final long maxDelay;
   private long delay = 1000; // number of milliseconds until first attempt to discover MBeans
+  // the following fields are only accessed from the executor thread
+  private final Map<MBeanServer, NotificationBeanDiscovery> discoveries = new IdentityHashMap<>();
+  // the server providing the MBeans of a metric definition that is discovered from notifications
+  private final Map<MetricDef, MBeanServerConnection> owners = new HashMap<>();
 
   BeanFinder(MetricRegistrar registrar, long discoveryDelay) {
     this.registrar = registrar;
@@ -97,9 +111,47 @@ class BeanFinder {
    */
   private void refreshState(Supplier<List<? extends MBeanServerConnection>> connections) {
     List<? extends MBeanServerConnection> servers = connections.get();
+    registrar.retainConnections(servers);
+
+    List<MBeanServerConnection> polledServers = new ArrayList<>();
+    Set<MBeanServer> localServers = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (MBeanServerConnection connection : servers) {
+      if (connection instanceof MBeanServer) {
+        MBeanServer server = (MBeanServer) connection;
+        localServers.add(server);
+        NotificationBeanDiscovery discovery = discoveries.get(server);
+        if (discovery != null) {
+          // new MBeans are reported by notifications, only retry the ones that were incomplete
+          discovery.retryPending();
+          continue;
+        }
+        discovery = new NotificationBeanDiscovery(server, conf, registrar, exec, owners);
+        if (discovery.start()) {
+          discoveries.put(server, discovery);
+          continue;
+        }
+      }
+      polledServers.add(connection);
+    }
 
+    // stop watching servers that are gone, e.g. released with MBeanServerFactory
+    for (Iterator<Map.Entry<MBeanServer, NotificationBeanDiscovery>> i =
+            discoveries.entrySet().iterator();
+        i.hasNext(); ) {
+      Map.Entry<MBeanServer, NotificationBeanDiscovery> entry = i.next();
+      if (!localServers.contains(entry.getKey())) {
+        entry.getValue().stop();
+        i.remove();
+      }
+    }
+
+    if (polledServers.isEmpty()) {
+      return;
+    }
     for (MetricDef metricDef : conf.getMetricDefs()) {
-      resolveBeans(metricDef, servers);
+      if (!owners.containsKey(metricDef)) {
+        resolveBeans(metricDef, polledServers);
+      }
     }
   }
 
@@ -44,6 +44,11 @@ public class BeanGroup {
     return new BeanGroup(null, list);
   }
 
+  // visible for testing
+  static BeanGroup forQuery(QueryExp queryExp, List<ObjectName> namePatterns) {
+    return new BeanGroup(queryExp, namePatterns);
+  }
+
   @Nullable
   QueryExp getQueryExp() {
     return queryExp;
@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * An index of the {@link ObjectName} patterns of a set of {@link MetricDef}s, used to find the
+ * definitions matching a single MBean without testing every configured pattern. Patterns are
+ * grouped by domain, only the patterns with a wildcard in their domain have to be tested for every
+ * MBean.
+ */
+class BeanPatternIndex {
+
+  private final Map<String, List<Entry>> byDomain = new HashMap<>();
+  private final List<Entry> domainPatterns = new ArrayList<>();
+
+  /**
+   * Creates the index.
+   *
+   * @param metricDefs the metric definitions to index
+   * @param defaultDomain the domain used for patterns with an empty domain, like {@link
+   *     javax.management.MBeanServer#queryNames} does
+   */
+  BeanPatternIndex(Collection<MetricDef> metricDefs, String defaultDomain) {
+    for (MetricDef metricDef : metricDefs) {
+      for (ObjectName pattern : metricDef.getBeanGroup().getNamePatterns()) {
+        Entry entry = new Entry(withDomain(pattern, defaultDomain), metricDef);
+        if (entry.pattern.isDomainPattern()) {
+          domainPatterns.add(entry);
+        } else {
+          byDomain
+              .computeIfAbsent(entry.pattern.getDomain(), domain -> new ArrayList<>())
+              .add(entry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the metric definitions with at least one pattern matching the {@code objectName}. The
+   * {@link BeanGroup#getQueryExp() query expression} of the definitions is not evaluated.
+   */
+  Set<MetricDef> findMatches(ObjectName objectName) {
+    Set<MetricDef> result = Collections.emptySet();
+    List<Entry> candidates = byDomain.get(objectName.getDomain());
+    if (candidates != null) {
+      result = addMatches(candidates, objectName, result);
+    }
+    return addMatches(domainPatterns, objectName, result);
+  }
+
+  private static Set<MetricDef> addMatches(
+      List<Entry> candidates, ObjectName objectName, Set<MetricDef> result) {
+    for (Entry entry : candidates) {
+      if (entry.pattern.apply(objectName)) {
+        if (result.isEmpty()) {
+          result = new LinkedHashSet<>();
+        }
+        result.add(entry.metricDef);
+      }
+    }
+    return result;
+  }
+
+  private static ObjectName withDomain(ObjectName pattern, String defaultDomain) {
+    if (!pattern.getDomain().isEmpty()) {
+      return pattern;
+    }
+    try {
+      return new ObjectName(defaultDomain + pattern.getCanonicalName());
+    } catch (MalformedObjectNameException e) {
+      // can't happen, the pattern was valid before
+      return pattern;
+    }
+  }
+
+  private static final class Entry {
+    private final ObjectName pattern;
+    private final MetricDef metricDef;
+
+    private Entry(ObjectName pattern, MetricDef metricDef) {
+      this.pattern = pattern;
+      this.metricDef = metricDef;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the metric collection cycles. A new cycle is started explicitly at the beginning
+ * of every collection, by a batch callback that the SDK invokes before the metric callbacks, on the
+ * thread collecting the metrics. Values read from the MBeans can be shared by all the callbacks of
+ * the same cycle.
+ *
+ * <p>The cycles are tracked per thread because several metric readers may collect at the same
+ * time, each of them invoking all the callbacks. Every cycle gets a distinct number.
+ */
+class CollectionCycle {
+
+  private final AtomicLong lastNumber = new AtomicLong();
+  private final ThreadLocal<long[]> cycles = ThreadLocal.withInitial(() -> new long[1]);
+
+  /** Starts a new cycle on the calling thread, called once at the beginning of a collection. */
+  void start() {
+    cycles.get()[0] = lastNumber.incrementAndGet();
+  }
+
+  /** Returns the current cycle of the calling thread, {@code 0} before the first one. */
+  long current() {
+    return cycles.get()[0];
+  }
+
+  /** Returns the number of the last cycle started by any thread. */
+  long last() {
+    return lastNumber.get();
+  }
+}
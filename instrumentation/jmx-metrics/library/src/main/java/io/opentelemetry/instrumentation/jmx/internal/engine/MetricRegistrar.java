@@ -17,7 +17,9 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
 import io.opentelemetry.api.metrics.ObservableLongMeasurement;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -30,9 +32,17 @@ class MetricRegistrar {
   private static final Logger logger = Logger.getLogger(MetricRegistrar.class.getName());
 
   private final Meter meter;
+  private final CollectionCycle cycle = new CollectionCycle();
+  // attribute reads of the metric callbacks are batched per MBean and collection cycle
+  private final Map<MBeanServerConnection, BatchingConnection> connections =
+      new ConcurrentHashMap<>();
 
   MetricRegistrar(OpenTelemetry openTelemetry, String instrumentationScope) {
     meter = openTelemetry.getMeter(instrumentationScope);
+    // the SDK invokes the callbacks in the order they were registered, so this one starts a new
+    // cycle before any metric callback of a collection runs, no values are recorded for it
+    meter.batchCallback(
+        cycle::start, meter.gaugeBuilder("jmx.internal.collection_cycle").buildObserver());
   }
 
   /**
@@ -50,7 +60,9 @@ class MetricRegistrar {
       MetricExtractor extractor,
       AttributeInfo attributeInfo) {
     // For the first enrollment of the extractor we have to build the corresponding Instrument
-    DetectionStatus status = new DetectionStatus(connection, objectNames);
+    BatchingConnection batchingConnection =
+        connections.computeIfAbsent(connection, c -> new BatchingConnection(c, cycle));
+    DetectionStatus status = new DetectionStatus(batchingConnection, objectNames);
     boolean firstEnrollment;
     synchronized (extractor) {
       firstEnrollment = extractor.getStatus() == null;
@@ -138,12 +150,22 @@ class MetricRegistrar {
     }
   }
 
+  /**
+   * Forgets the connections that are not in use anymore, e.g. remote connections that were
+   * re-established.
+   *
+   * @param current the connections currently provided for MBean discovery
+   */
+  void retainConnections(Collection<? extends MBeanServerConnection> current) {
+    connections.keySet().retainAll(current);
+  }
+
   /*
    * A method generating metric collection callback for asynchronous Measurement
    * of Double type.
    * If unit converter is provided then conversion is applied before metric is recorded.
    */
-  static Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
+  Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
       MetricExtractor extractor, @Nullable UnitConverter unitConverter) {
     return measurement -> {
       DetectionStatus status = extractor.getStatus();
@@ -170,7 +192,7 @@ class MetricRegistrar {
    * A method generating metric collection callback for asynchronous Measurement
    * of Long type.
    */
-  static Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
+  Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
     return measurement -> {
       DetectionStatus status = extractor.getStatus();
       if (status != null) {
@@ -0,0 +1,264 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static java.util.Collections.singleton;
+import static java.util.logging.Level.FINE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.management.InstanceNotFoundException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.relation.MBeanServerNotificationFilter;
+
+/**
+ * Discovers the MBeans of a local {@link MBeanServer} incrementally. The server is queried once
+ * for every metric definition, after that only the MBeans reported by the {@link
+ * MBeanServerDelegate} registration and unregistration notifications are matched against the
+ * metric definitions, instead of re-querying the server for all of them periodically.
+ *
+ * <p>The {@link BeanGroup#getQueryExp() query expression} of a metric definition may depend on the
+ * attribute values of an MBean, which can change after the MBean was registered. MBeans that match
+ * the name patterns but not the query expression are therefore remembered and the query expression
+ * is evaluated for them again on every detection cycle.
+ *
+ * <p>Notifications are delivered on the thread registering the MBean, they are handed over to the
+ * bean finder executor. All the other methods must only be called from that executor.
+ */
+class NotificationBeanDiscovery implements NotificationListener {
+
+  private static final Logger logger = Logger.getLogger(NotificationBeanDiscovery.class.getName());
+
+  private final MBeanServer server;
+  private final MetricConfiguration conf;
+  private final MetricRegistrar registrar;
+  private final Executor executor;
+  // shared by all the servers, like with polling only one server provides the MBeans of a metric
+  // definition
+  private final Map<MetricDef, MBeanServerConnection> owners;
+  private final Map<MetricExtractor, ExtractorState> states = new HashMap<>();
+  // MBeans matching the name patterns of a metric definition, but not its query expression (yet)
+  private final Map<MetricDef, Set<ObjectName>> queryRejected = new HashMap<>();
+  @Nullable private BeanPatternIndex index;
+
+  NotificationBeanDiscovery(
+      MBeanServer server,
+      MetricConfiguration conf,
+      MetricRegistrar registrar,
+      Executor executor,
+      Map<MetricDef, MBeanServerConnection> owners) {
+    this.server = server;
+    this.conf = conf;
+    this.registrar = registrar;
+    this.executor = executor;
+    this.owners = owners;
+  }
+
+  /**
+   * Subscribes to the MBean registration notifications and looks up the MBeans that are already
+   * registered.
+   *
+   * @return {@code false} if the server can't deliver notifications, polling has to be used then
+   */
+  boolean start() {
+    MBeanServerNotificationFilter filter = new MBeanServerNotificationFilter();
+    filter.enableAllObjectNames();
+    filter.enableType(MBeanServerNotification.REGISTRATION_NOTIFICATION);
+    filter.enableType(MBeanServerNotification.UNREGISTRATION_NOTIFICATION);
+    try {
+      // subscribe before querying, so that no MBean registered in between is missed
+      server.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME, this, filter, null);
+    } catch (InstanceNotFoundException | RuntimeException e) {
+      logger.log(FINE, "Unable to subscribe to MBean notifications, falling back to polling", e);
+      return false;
+    }
+    index = new BeanPatternIndex(conf.getMetricDefs(), server.getDefaultDomain());
+
+    for (MetricDef metricDef : conf.getMetricDefs()) {
+      BeanGroup beans = metricDef.getBeanGroup();
+      Set<ObjectName> objectNames = new LinkedHashSet<>();
+      for (ObjectName pattern : beans.getNamePatterns()) {
+        objectNames.addAll(server.queryNames(pattern, beans.getQueryExp()));
+      }
+      if (beans.getQueryExp() != null) {
+        Set<ObjectName> rejected = new HashSet<>();
+        for (ObjectName pattern : beans.getNamePatterns()) {
+          rejected.addAll(server.queryNames(pattern, null));
+        }
+        rejected.removeAll(objectNames);
+        if (!rejected.isEmpty()) {
+          queryRejected.put(metricDef, rejected);
+        }
+      }
+      if (!objectNames.isEmpty()) {
+        addBeans(metricDef, objectNames);
+      }
+    }
+    return true;
+  }
+
+  void stop() {
+    try {
+      server.removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME, this);
+    } catch (InstanceNotFoundException | ListenerNotFoundException | RuntimeException e) {
+      logger.log(FINE, "Unable to unsubscribe from MBean notifications", e);
+    }
+    owners.values().removeIf(owner -> owner == server);
+  }
+
+  @Override
+  public void handleNotification(Notification notification, Object handback) {
+    if (!(notification instanceof MBeanServerNotification)) {
+      return;
+    }
+    ObjectName objectName = ((MBeanServerNotification) notification).getMBeanName();
+    if (MBeanServerNotification.REGISTRATION_NOTIFICATION.equals(notification.getType())) {
+      executor.execute(() -> onRegistered(objectName));
+    } else if (MBeanServerNotification.UNREGISTRATION_NOTIFICATION.equals(
+        notification.getType())) {
+      executor.execute(() -> onUnregistered(objectName));
+    }
+  }
+
+  /**
+   * Retries the MBeans that matched a metric definition, but did not provide the required
+   * attribute when they were registered, and evaluates the query expressions again for the MBeans
+   * they rejected.
+   */
+  void retryPending() {
+    for (Map.Entry<MetricDef, Set<ObjectName>> entry : queryRejected.entrySet()) {
+      MetricDef metricDef = entry.getKey();
+      Set<ObjectName> matching = new LinkedHashSet<>();
+      for (Iterator<ObjectName> i = entry.getValue().iterator(); i.hasNext(); ) {
+        ObjectName objectName = i.next();
+        if (matchesQuery(metricDef, objectName)) {
+          i.remove();
+          matching.add(objectName);
+        }
+      }
+      if (!matching.isEmpty()) {
+        addBeans(metricDef, matching);
+      }
+    }
+    queryRejected.values().removeIf(Set::isEmpty);
+
+    for (MetricDef metricDef : conf.getMetricDefs()) {
+      Set<ObjectName> pending = new LinkedHashSet<>();
+      for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
+        ExtractorState state = states.get(extractor);
+        if (state != null) {
+          pending.addAll(state.pending);
+        }
+      }
+      if (!pending.isEmpty()) {
+        addBeans(metricDef, pending);
+      }
+    }
+  }
+
+  private void onRegistered(ObjectName objectName) {
+    if (index == null) {
+      return;
+    }
+    for (MetricDef metricDef : index.findMatches(objectName)) {
+      if (matchesQuery(metricDef, objectName)) {
+        addBeans(metricDef, singleton(objectName));
+      } else {
+        queryRejected.computeIfAbsent(metricDef, def -> new HashSet<>()).add(objectName);
+      }
+    }
+  }
+
+  private boolean matchesQuery(MetricDef metricDef, ObjectName objectName) {
+    if (metricDef.getBeanGroup().getQueryExp() == null) {
+      return true;
+    }
+    // evaluates the query for this single MBean only
+    return !server.queryNames(objectName, metricDef.getBeanGroup().getQueryExp()).isEmpty();
+  }
+
+  private void onUnregistered(ObjectName objectName) {
+    for (Set<ObjectName> rejected : queryRejected.values()) {
+      rejected.remove(objectName);
+    }
+    for (Map.Entry<MetricExtractor, ExtractorState> entry : states.entrySet()) {
+      ExtractorState state = entry.getValue();
+      state.pending.remove(objectName);
+      AttributeInfo attributeInfo = state.attributeInfo;
+      if (state.objectNames.remove(objectName) && attributeInfo != null) {
+        registrar.enrollExtractor(
+            server, new ArrayList<>(state.objectNames), entry.getKey(), attributeInfo);
+      }
+    }
+  }
+
+  /**
+   * Verifies that the MBeans support the attributes of the metric definition, and extends the
+   * collection of the corresponding metrics to them. MBeans that don't support an attribute are
+   * remembered and retried later.
+   */
+  private void addBeans(MetricDef metricDef, Collection<ObjectName> objectNames) {
+    MBeanServerConnection owner = owners.putIfAbsent(metricDef, server);
+    if (owner != null && owner != server) {
+      // Assuming that only one MBeanServer has the required MBeans
+      return;
+    }
+    for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
+      ExtractorState state = states.computeIfAbsent(extractor, e -> new ExtractorState());
+      AttributeInfo attributeInfo = state.attributeInfo;
+      boolean changed = false;
+      for (ObjectName objectName : objectNames) {
+        if (state.objectNames.contains(objectName)) {
+          continue;
+        }
+        AttributeInfo attr =
+            extractor.getMetricValueExtractor().getAttributeInfo(server, objectName);
+        if (attr == null) {
+          state.pending.add(objectName);
+          continue;
+        }
+        state.pending.remove(objectName);
+        if (attributeInfo == null) {
+          attributeInfo = attr;
+          state.attributeInfo = attr;
+        } else {
+          attributeInfo.updateFrom(attr);
+        }
+        state.objectNames.add(objectName);
+        changed = true;
+      }
+      if (changed && attributeInfo != null) {
+        // Ready to collect metric values
+        registrar.enrollExtractor(
+            server, new ArrayList<>(state.objectNames), extractor, attributeInfo);
+      }
+    }
+  }
+
+  private static final class ExtractorState {
+    // MBeans known to provide the attribute of the extractor
+    private final Set<ObjectName> objectNames = new LinkedHashSet<>();
+    // MBeans matching the metric definition, but not providing the attribute (yet)
+    private final Set<ObjectName> pending = new HashSet<>();
+    @Nullable private AttributeInfo attributeInfo;
+  }
+}
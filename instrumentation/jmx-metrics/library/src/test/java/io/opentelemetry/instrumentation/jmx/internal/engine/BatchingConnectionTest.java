@@ -0,0 +1,241 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.RuntimeMBeanException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchingConnectionTest {
+
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface CounterMBean {
+
+    long getCount();
+
+    long getConstant();
+
+    long getBroken();
+  }
+
+  public static class Counter implements CounterMBean {
+
+    private long count;
+
+    @Override
+    public long getCount() {
+      return ++count;
+    }
+
+    @Override
+    public long getConstant() {
+      return 42;
+    }
+
+    @Override
+    public long getBroken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+  private final AtomicInteger roundTrips = new AtomicInteger();
+  private MBeanServer server;
+  private ObjectName objectName;
+  private MBeanServerConnection countingConnection;
+  private BatchingConnection connection;
+  private CollectionCycle cycle;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = MBeanServerFactory.newMBeanServer();
+    objectName = new ObjectName("otel.jmx.test:type=Counter");
+    server.registerMBean(new Counter(), objectName);
+
+    countingConnection =
+        (MBeanServerConnection)
+            Proxy.newProxyInstance(
+                BatchingConnectionTest.class.getClassLoader(),
+                new Class<?>[] {MBeanServerConnection.class},
+                (proxy, method, args) -> {
+                  roundTrips.incrementAndGet();
+                  try {
+                    return method.invoke(server, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                });
+    cycle = new CollectionCycle();
+    connection = new BatchingConnection(countingConnection, cycle);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    server.unregisterMBean(objectName);
+  }
+
+  @Test
+  void readsAllAttributesOncePerCycle() {
+    MetricExtractor count = extractor("Count");
+    MetricExtractor constant = extractor("Constant");
+    MetricExtractor missing = extractor("Missing");
+
+    // the first cycle learns which attributes are used
+    cycle.start();
+    assertThat(read(count)).isEqualTo(1L);
+    assertThat(read(constant)).isEqualTo(42L);
+    assertThat(read(missing)).isNull();
+    assertThat(roundTrips.getAndSet(0)).isEqualTo(3);
+
+    for (long i = 2; i < 5; i++) {
+      cycle.start();
+      assertThat(read(count)).isEqualTo(i);
+      assertThat(read(constant)).isEqualTo(42L);
+      assertThat(read(missing)).isNull();
+      // the missing attribute is read individually to report the error
+      assertThat(roundTrips.getAndSet(0)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void extractorAddedBetweenCollections() {
+    MetricExtractor count = extractor("Count");
+
+    cycle.start();
+    assertThat(read(count)).isEqualTo(1L);
+
+    // e.g. a newly discovered MBean, its callback may run before the other ones
+    MetricExtractor constant = extractor("Constant");
+    cycle.start();
+    assertThat(read(constant)).isEqualTo(42L);
+    assertThat(read(count)).isEqualTo(2L);
+  }
+
+  @Test
+  void reportsOriginalError() {
+    MetricExtractor count = extractor("Count");
+
+    for (int i = 0; i < 3; i++) {
+      cycle.start();
+      read(count);
+      assertThatThrownBy(() -> connection.getAttribute(objectName, "Broken"))
+          .isInstanceOf(RuntimeMBeanException.class)
+          .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void concurrentCycles() throws Exception {
+    MetricExtractor count = extractor("Count");
+    MetricExtractor sameCount = extractor("Count");
+
+    cycle.start();
+    assertThat(read(count)).isEqualTo(1L);
+    cycle.start();
+    assertThat(read(count)).isEqualTo(2L);
+
+    // another reader collecting at the same time runs its own cycle
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(
+              executor
+                  .submit(
+                      () -> {
+                        cycle.start();
+                        return read(count);
+                      })
+                  .get())
+          .isEqualTo(3L);
+      assertThat(executor.submit(() -> read(sameCount)).get()).isEqualTo(3L);
+    } finally {
+      executor.shutdown();
+    }
+
+    // without starting a new cycle on this thread
+    assertThat(read(sameCount)).isEqualTo(2L);
+    cycle.start();
+    assertThat(read(count)).isEqualTo(4L);
+  }
+
+  @Test
+  void startsCycleForEveryCollection() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    MetricRegistrar registrar =
+        new MetricRegistrar(
+            OpenTelemetrySdk.builder().setMeterProvider(meterProvider).build(), "test");
+    AttributeInfo attributeInfo = new AttributeInfo(1L, null);
+    registrar.enrollExtractor(
+        countingConnection, singletonList(objectName), extractor("Count"), attributeInfo);
+
+    assertThat(gaugeValue(metricReader.collectAllMetrics(), "test.metric")).isEqualTo(1L);
+
+    // added between collections
+    registrar.enrollExtractor(
+        countingConnection,
+        singletonList(objectName),
+        extractor("Constant", "test.constant"),
+        attributeInfo);
+    roundTrips.set(0);
+
+    Collection<MetricData> metrics = metricReader.collectAllMetrics();
+    assertThat(gaugeValue(metrics, "test.metric")).isEqualTo(2L);
+    assertThat(gaugeValue(metrics, "test.constant")).isEqualTo(42L);
+    // the new attribute is read individually the first time
+    assertThat(roundTrips.getAndSet(0)).isEqualTo(2);
+
+    metrics = metricReader.collectAllMetrics();
+    assertThat(gaugeValue(metrics, "test.metric")).isEqualTo(3L);
+    assertThat(gaugeValue(metrics, "test.constant")).isEqualTo(42L);
+    assertThat(roundTrips.get()).isEqualTo(1);
+    meterProvider.close();
+  }
+
+  private static long gaugeValue(Collection<MetricData> metrics, String metricName) {
+    return metrics.stream()
+        .filter(metric -> metric.getName().equals(metricName))
+        .findFirst()
+        .orElseThrow(AssertionError::new)
+        .getLongGaugeData()
+        .getPoints()
+        .iterator()
+        .next()
+        .getValue();
+  }
+
+  private Number read(MetricExtractor extractor) {
+    return extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
+  }
+
+  private static MetricExtractor extractor(String attribute) {
+    return extractor(attribute, "test.metric");
+  }
+
+  private static MetricExtractor extractor(String attribute, String metricName) {
+    MetricInfo metricInfo = new MetricInfo(metricName, null, null, "1", MetricInfo.Type.GAUGE);
+    return new MetricExtractor(BeanAttributeExtractor.fromName(attribute), metricInfo, emptyList());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.OpenTelemetry;
+import java.util.HashMap;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NotificationBeanDiscoveryTest {
+
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface CounterMBean {
+
+    int getValue();
+  }
+
+  public static class Counter implements CounterMBean {
+
+    private volatile int value;
+
+    public Counter(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public int getValue() {
+      return value;
+    }
+
+    void setValue(int value) {
+      this.value = value;
+    }
+  }
+
+  private static final String DOMAIN = "otel.jmx.discovery.test";
+
+  private MBeanServer server;
+  private NotificationBeanDiscovery discovery;
+
+  @BeforeEach
+  void setUp() {
+    server = MBeanServerFactory.newMBeanServer(DOMAIN);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (discovery != null) {
+      discovery.stop();
+    }
+  }
+
+  @Test
+  void registeredAfterStart() throws Exception {
+    MetricExtractor extractor = startDiscovery(BeanGroup.forBeans(singletonList(pattern())));
+    assertThat(extractor.getStatus()).isNull();
+
+    // MBeans registered later are discovered from the MBean server notifications
+    server.registerMBean(new Counter(42), objectName("first"));
+    assertThat(extractor.getStatus().getObjectNames()).containsExactly(objectName("first"));
+
+    server.registerMBean(new Counter(37), objectName("second"));
+    assertThat(extractor.getStatus().getObjectNames())
+        .containsExactly(objectName("first"), objectName("second"));
+
+    server.unregisterMBean(objectName("first"));
+    assertThat(extractor.getStatus().getObjectNames()).containsExactly(objectName("second"));
+  }
+
+  @Test
+  void queryEvaluatedAgain() throws Exception {
+    Counter registeredBefore = new Counter(1);
+    server.registerMBean(registeredBefore, objectName("before"));
+
+    MetricExtractor extractor =
+        startDiscovery(
+            BeanGroup.forQuery(
+                Query.gt(Query.attr("Value"), Query.value(10)),
+                singletonList(new ObjectName(pattern()))));
+
+    Counter registeredAfter = new Counter(2);
+    server.registerMBean(registeredAfter, objectName("after"));
+    assertThat(extractor.getStatus()).isNull();
+
+    // MBeans whose attributes start matching the query later are picked up on the next cycle
+    registeredAfter.setValue(42);
+    discovery.retryPending();
+    assertThat(extractor.getStatus().getObjectNames()).containsExactly(objectName("after"));
+
+    registeredBefore.setValue(42);
+    discovery.retryPending();
+    assertThat(extractor.getStatus().getObjectNames())
+        .containsExactly(objectName("after"), objectName("before"));
+  }
+
+  private MetricExtractor startDiscovery(BeanGroup beanGroup) {
+    MetricInfo metricInfo =
+        new MetricInfo("test.metric", "description", null, "1", MetricInfo.Type.GAUGE);
+    MetricExtractor extractor =
+        new MetricExtractor(BeanAttributeExtractor.fromName("Value"), metricInfo, emptyList());
+    MetricConfiguration conf = new MetricConfiguration();
+    conf.addMetricDef(new MetricDef(beanGroup, singletonList(extractor)));
+
+    discovery =
+        new NotificationBeanDiscovery(
+            server,
+            conf,
+            new MetricRegistrar(OpenTelemetry.noop(), "test"),
+            Runnable::run,
+            new HashMap<>());
+    assertThat(discovery.start()).isTrue();
+    return extractor;
+  }
+
+  private static String pattern() {
+    return DOMAIN + ":type=Counter,*";
+  }
+
+  private static ObjectName objectName(String name) throws Exception {
+    return new ObjectName(DOMAIN + ":type=Counter,name=" + name);
+  }
+}
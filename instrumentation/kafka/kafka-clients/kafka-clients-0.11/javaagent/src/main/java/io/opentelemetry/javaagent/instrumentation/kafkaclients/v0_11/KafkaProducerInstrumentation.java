@@ -81,7 +81,8 @@ public class KafkaProducerInstrumentation implements TypeInstrumentation {
           ApiVersions apiVersions, ProducerRecord<?, ?> record) {
         if (KafkaSingletons.isProducerPropagationEnabled()
             && KafkaPropagation.shouldPropagate(apiVersions)) {
-          return KafkaPropagation.propagateContext(context, record);
+          return KafkaPropagation.propagateContext(
+              KafkaSingletons.propagator(), context, record);
         }
         return record;
       }
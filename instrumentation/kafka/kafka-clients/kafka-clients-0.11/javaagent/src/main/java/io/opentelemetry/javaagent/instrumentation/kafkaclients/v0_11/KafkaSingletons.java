@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaInstrumenterFactory;
@@ -23,9 +24,21 @@ public final class KafkaSingletons {
           .get("producer_propagation")
           .getBoolean("enabled", true);
 
+  // when enabled, iterating over ConsumerRecords creates a single process span for all the records
+  // instead of a span per record
+  private static final boolean BATCH_PROCESS_ENABLED =
+      DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "kafka")
+          .get("batch_process/development")
+          .getBoolean("enabled", false);
+
+  // resolved once instead of on every send
+  private static final TextMapPropagator PROPAGATOR =
+      GlobalOpenTelemetry.get().getPropagators().getTextMapPropagator();
+
   private static final Instrumenter<KafkaProducerRequest, RecordMetadata> PRODUCER_INSTRUMENTER;
   private static final Instrumenter<KafkaReceiveRequest, Void> CONSUMER_RECEIVE_INSTRUMENTER;
   private static final Instrumenter<KafkaProcessRequest, Void> CONSUMER_PROCESS_INSTRUMENTER;
+  private static final Instrumenter<KafkaReceiveRequest, Void> CONSUMER_BATCH_PROCESS_INSTRUMENTER;
 
   static {
     KafkaInstrumenterFactory instrumenterFactory =
@@ -39,12 +52,18 @@ public final class KafkaSingletons {
     PRODUCER_INSTRUMENTER = instrumenterFactory.createProducerInstrumenter();
     CONSUMER_RECEIVE_INSTRUMENTER = instrumenterFactory.createConsumerReceiveInstrumenter();
     CONSUMER_PROCESS_INSTRUMENTER = instrumenterFactory.createConsumerProcessInstrumenter();
+    // records that weren't sampled by the producer won't be exported, don't link them
+    CONSUMER_BATCH_PROCESS_INSTRUMENTER = instrumenterFactory.createBatchProcessInstrumenter(true);
   }
 
   public static boolean isProducerPropagationEnabled() {
     return PRODUCER_PROPAGATION_ENABLED;
   }
 
+  public static TextMapPropagator propagator() {
+    return PROPAGATOR;
+  }
+
   public static Instrumenter<KafkaProducerRequest, RecordMetadata> producerInstrumenter() {
     return PRODUCER_INSTRUMENTER;
   }
@@ -57,5 +76,13 @@ public final class KafkaSingletons {
     return CONSUMER_PROCESS_INSTRUMENTER;
   }
 
+  public static boolean isBatchProcessEnabled() {
+    return BATCH_PROCESS_ENABLED;
+  }
+
+  public static Instrumenter<KafkaReceiveRequest, Void> consumerBatchProcessInstrumenter() {
+    return CONSUMER_BATCH_PROCESS_INSTRUMENTER;
+  }
+
   private KafkaSingletons() {}
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.kafkaclients.v0_11;
+
+import static io.opentelemetry.instrumentation.testing.util.TelemetryDataUtil.orderByRootSpanKind;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static io.opentelemetry.semconv.incubating.MessagingIncubatingAttributes.MESSAGING_BATCH_MESSAGE_COUNT;
+import static io.opentelemetry.semconv.incubating.MessagingIncubatingAttributes.MESSAGING_DESTINATION_NAME;
+import static io.opentelemetry.semconv.incubating.MessagingIncubatingAttributes.MESSAGING_OPERATION;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaClientPropagationBaseTest;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class KafkaClientBatchProcessTest extends KafkaClientPropagationBaseTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @SuppressWarnings("deprecation") // using deprecated semconv
+  @Test
+  void testBatchProcessSpan() throws Exception {
+    String greeting = "Hello Kafka!";
+    testing.runWithSpan(
+        "parent",
+        () -> producer.send(new ProducerRecord<>(SHARED_TOPIC, 10, greeting)).get(5, SECONDS));
+
+    awaitUntilConsumerIsReady();
+    ConsumerRecords<?, ?> records = poll(Duration.ofSeconds(5));
+    assertThat(records.count()).isEqualTo(1);
+
+    // iterate over records to generate spans
+    for (ConsumerRecord<?, ?> record : records) {
+      testing.runWithSpan("processing", () -> assertThat(record.value()).isEqualTo(greeting));
+    }
+
+    AtomicReference<SpanData> producerSpan = new AtomicReference<>();
+    testing.waitAndAssertSortedTraces(
+        orderByRootSpanKind(SpanKind.INTERNAL, SpanKind.CONSUMER),
+        trace -> {
+          trace.hasSpansSatisfyingExactly(
+              span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+              span ->
+                  span.hasName(SHARED_TOPIC + " publish")
+                      .hasKind(SpanKind.PRODUCER)
+                      .hasParent(trace.getSpan(0)));
+          producerSpan.set(trace.getSpan(1));
+        },
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName(SHARED_TOPIC + " receive")
+                        .hasKind(SpanKind.CONSUMER)
+                        .hasNoParent(),
+                span ->
+                    span.hasName(SHARED_TOPIC + " process")
+                        .hasKind(SpanKind.CONSUMER)
+                        .hasParent(trace.getSpan(0))
+                        .hasLinks(LinkData.create(producerSpan.get().getSpanContext()))
+                        .hasAttributesSatisfying(
+                            equalTo(MESSAGING_DESTINATION_NAME, SHARED_TOPIC),
+                            equalTo(MESSAGING_OPERATION, "process"),
+                            equalTo(MESSAGING_BATCH_MESSAGE_COUNT, 1)),
+                span -> span.hasName("processing").hasParent(trace.getSpan(1))));
+  }
+
+  @Test
+  void testAbandonedBatchIteration() throws Exception {
+    String greeting = "Hello Kafka!";
+    producer.send(new ProducerRecord<>(SHARED_TOPIC, 10, greeting)).get(5, SECONDS);
+
+    awaitUntilConsumerIsReady();
+    ConsumerRecords<?, ?> records = poll(Duration.ofSeconds(5));
+    assertThat(records.count()).isEqualTo(1);
+
+    // take the first record and stop iterating, like breaking out of a loop
+    Iterator<? extends ConsumerRecord<?, ?>> iterator = records.iterator();
+    assertThat(iterator.next().value()).isEqualTo(greeting);
+    assertThat(Span.current().getSpanContext().isValid()).isTrue();
+    long abandonedBefore = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() + 100);
+    Thread.sleep(200);
+
+    // the next poll closes the scope and ends the batch process span
+    poll(Duration.ofMillis(100));
+    assertThat(Span.current().getSpanContext().isValid()).isFalse();
+
+    testing.waitAndAssertSortedTraces(
+        orderByRootSpanKind(SpanKind.PRODUCER, SpanKind.CONSUMER),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName(SHARED_TOPIC + " publish").hasKind(SpanKind.PRODUCER)),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName(SHARED_TOPIC + " receive").hasKind(SpanKind.CONSUMER),
+                span ->
+                    span.hasName(SHARED_TOPIC + " process")
+                        .hasKind(SpanKind.CONSUMER)
+                        .hasParent(trace.getSpan(0))
+                        // ends when the iterator was last used, not at the next poll
+                        .satisfies(
+                            spanData ->
+                                assertThat(spanData.getEndEpochNanos())
+                                    .isLessThan(abandonedBefore))));
+  }
+}
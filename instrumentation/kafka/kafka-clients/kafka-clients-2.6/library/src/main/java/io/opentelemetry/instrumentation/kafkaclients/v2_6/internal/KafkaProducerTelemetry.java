@@ -5,23 +5,22 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.v2_6.internal;
 
-import static java.util.logging.Level.WARNING;
+import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapPropagator;
-import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
-import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaHeadersSetter;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaProducerRequest;
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaPropagation;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.logging.Logger;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
-import org.apache.kafka.common.header.Headers;
 
 /**
  * Helper for producer-side instrumentation.
@@ -32,7 +31,8 @@ import org.apache.kafka.common.header.Headers;
 public class KafkaProducerTelemetry {
   private static final Logger logger = Logger.getLogger(KafkaProducerTelemetry.class.getName());
 
-  private static final TextMapSetter<Headers> SETTER = KafkaHeadersSetter.INSTANCE;
+  // records may be resent many times, e.g. during retries, so this is logged only once
+  private static final AtomicBoolean readOnlyHeadersLogged = new AtomicBoolean();
 
   private final TextMapPropagator propagator;
   private final Instrumenter<KafkaProducerRequest, RecordMetadata> producerInstrumenter;
@@ -62,11 +62,11 @@ public class KafkaProducerTelemetry {
 
     Context context = producerInstrumenter.start(parentContext, request);
     if (producerPropagationEnabled) {
-      try {
-        propagator.inject(context, record.headers(), SETTER);
-      } catch (Throwable t) {
-        // it can happen if headers are read only (when record is sent second time)
-        logger.log(WARNING, "failed to inject span context. sending record second time?", t);
+      // headers are read only when the record is sent second time, the interceptor can't replace
+      // the record so the context is not propagated in that case
+      if (!KafkaPropagation.tryInject(propagator, context, record.headers())
+          && readOnlyHeadersLogged.compareAndSet(false, true)) {
+        logger.log(FINE, "failed to inject span context. sending record second time?");
       }
     }
     producerInstrumenter.end(context, request, null, null);
@@ -92,7 +92,7 @@ public class KafkaProducerTelemetry {
     }
 
     Context context = producerInstrumenter.start(parentContext, request);
-    propagator.inject(context, record.headers(), SETTER);
+    record = KafkaPropagation.propagateContext(propagator, context, record);
 
     try (Scope ignored = context.makeCurrent()) {
       return sendFn.apply(record, new ProducerCallback(callback, parentContext, context, request));
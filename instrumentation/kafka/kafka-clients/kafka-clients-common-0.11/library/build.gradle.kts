@@ -1,5 +1,6 @@
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -7,4 +8,15 @@ dependencies {
   compileOnly("org.apache.kafka:kafka-clients:0.11.0.0")
   compileOnly("com.google.auto.value:auto-value-annotations")
   annotationProcessor("com.google.auto.value:auto-value")
+
+  jmhImplementation("org.apache.kafka:kafka-clients:0.11.0.0")
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      enabled.set(false)
+    }
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures injecting the context into a new record and into a record that was already sent, whose
+ * headers are read-only and have to be copied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class KafkaPropagationBenchmark {
+
+  private static final TextMapPropagator propagator = W3CTraceContextPropagator.getInstance();
+  private static final Context context =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "0af7651916cd43dd8448eb211c80319c",
+                      "b7ad6b7169203331",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  private final ProducerRecord<String, String> sentRecord = createSentRecord();
+
+  private static ProducerRecord<String, String> createSentRecord() {
+    ProducerRecord<String, String> record = new ProducerRecord<>("topic", "key", "value");
+    // this is what KafkaProducer does when the record is sent
+    ((RecordHeaders) record.headers()).setReadOnly();
+    return record;
+  }
+
+  @Benchmark
+  public ProducerRecord<String, String> newRecord() {
+    return KafkaPropagation.propagateContext(
+        propagator, context, new ProducerRecord<>("topic", "key", "value"));
+  }
+
+  @Benchmark
+  public ProducerRecord<String, String> sentRecord() {
+    return KafkaPropagation.propagateContext(propagator, context, sentRecord);
+  }
+}
@@ -5,33 +5,46 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksExtractor;
-import io.opentelemetry.instrumentation.api.internal.PropagatorBasedSpanLinksExtractor;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 final class KafkaBatchProcessSpanLinksExtractor implements SpanLinksExtractor<KafkaReceiveRequest> {
 
-  private final SpanLinksExtractor<KafkaProcessRequest> singleRecordLinkExtractor;
+  private final TextMapPropagator propagator;
+  private final boolean sampledLinksOnly;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
-    this.singleRecordLinkExtractor =
-        new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator, boolean sampledLinksOnly) {
+    this.propagator = propagator;
+    this.sampledLinksOnly = sampledLinksOnly;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, KafkaReceiveRequest request) {
 
+    // links are an input of the sampling decision, so they can't be added after the span has
+    // started; this runs only once the first record of the batch is handed out, not at poll time
     for (ConsumerRecord<?, ?> record : request.getRecords()) {
+      // nothing can be extracted from records without headers, skip creating the request
+      if (!record.headers().iterator().hasNext()) {
+        continue;
+      }
       // explicitly passing root to avoid situation where context propagation is turned off and the
       // parent (CONSUMER receive) span is linked
-      singleRecordLinkExtractor.extract(
-          spanLinks,
-          Context.root(),
-          KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()));
+      Context extracted =
+          propagator.extract(
+              Context.root(),
+              KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()),
+              KafkaConsumerRecordGetter.INSTANCE);
+      SpanContext spanContext = Span.fromContext(extracted).getSpanContext();
+      if (!sampledLinksOnly || spanContext.isSampled()) {
+        spanLinks.addLink(spanContext);
+      }
     }
   }
 }
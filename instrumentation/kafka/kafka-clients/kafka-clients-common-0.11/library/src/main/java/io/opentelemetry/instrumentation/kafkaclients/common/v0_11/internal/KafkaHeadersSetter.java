@@ -19,6 +19,10 @@ public enum KafkaHeadersSetter implements TextMapSetter<Headers> {
 
   @Override
   public void set(Headers headers, String key, String value) {
-    headers.remove(key).add(key, value.getBytes(UTF_8));
+    // remove() allocates an iterator, skip it when the header isn't there, which is the common case
+    if (headers.lastHeader(key) != null) {
+      headers.remove(key);
+    }
+    headers.add(key, value.getBytes(UTF_8));
   }
 }
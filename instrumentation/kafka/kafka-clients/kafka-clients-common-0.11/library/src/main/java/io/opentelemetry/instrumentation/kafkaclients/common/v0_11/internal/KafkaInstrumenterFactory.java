@@ -147,6 +147,16 @@ public final class KafkaInstrumenterFactory {
   }
 
   public Instrumenter<KafkaReceiveRequest, Void> createBatchProcessInstrumenter() {
+    return createBatchProcessInstrumenter(false);
+  }
+
+  /**
+   * Creates an instrumenter for process spans that cover a whole batch of records. When {@code
+   * sampledLinksOnly} is set, only the sampled producer span contexts propagated with the records
+   * are added as span links.
+   */
+  public Instrumenter<KafkaReceiveRequest, Void> createBatchProcessInstrumenter(
+      boolean sampledLinksOnly) {
     KafkaReceiveAttributesGetter getter = KafkaReceiveAttributesGetter.INSTANCE;
     MessageOperation operation = MessageOperation.PROCESS;
 
@@ -159,7 +169,7 @@ public final class KafkaInstrumenterFactory {
         .addAttributesExtractor(KafkaReceiveAttributesExtractor.INSTANCE)
         .addSpanLinksExtractor(
             new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
+                openTelemetry.getPropagators().getTextMapPropagator(), sampledLinksOnly))
         .setErrorCauseExtractor(errorCauseExtractor)
         .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
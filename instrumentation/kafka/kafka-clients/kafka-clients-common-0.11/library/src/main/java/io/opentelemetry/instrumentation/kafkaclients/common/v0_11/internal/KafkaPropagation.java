@@ -5,11 +5,13 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
-import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.tooling.muzzle.NoMuzzle;
 import org.apache.kafka.clients.ApiVersions;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.record.RecordBatch;
 
 /**
@@ -20,6 +22,9 @@ public final class KafkaPropagation {
 
   private static final KafkaHeadersSetter SETTER = KafkaHeadersSetter.INSTANCE;
   private static final boolean hasMaxUsableProduceMagic = hasMaxUsableProduceMagic();
+  // headers of records that were already sent, adding a header to them throws an exception, which
+  // is only paid once per record when the same record is sent again and again
+  private static final Cache<Headers, Boolean> readOnlyHeaders = Cache.weak();
 
   // Do not inject headers for batch versions below 2
   // This is how similar check is being done in Kafka client itself:
@@ -48,12 +53,15 @@ public final class KafkaPropagation {
     }
   }
 
+  /**
+   * Injects the {@code context} into the headers of the {@code record}. When the headers are
+   * read-only, which happens when a record is sent a second time, the context is injected into a
+   * copy of the record, which is returned instead.
+   */
   public static <K, V> ProducerRecord<K, V> propagateContext(
-      Context context, ProducerRecord<K, V> record) {
-    try {
-      inject(context, record);
-    } catch (IllegalStateException e) {
-      // headers must be read-only from reused record. try again with new one.
+      TextMapPropagator propagator, Context context, ProducerRecord<K, V> record) {
+    if (!tryInject(propagator, context, record.headers())) {
+      // the headers are copied into a new, writable headers instance
       record =
           new ProducerRecord<>(
               record.topic(),
@@ -62,16 +70,28 @@ public final class KafkaPropagation {
               record.key(),
               record.value(),
               record.headers());
-
-      inject(context, record);
+      propagator.inject(context, record.headers(), SETTER);
     }
     return record;
   }
 
-  private static <K, V> void inject(Context context, ProducerRecord<K, V> record) {
-    GlobalOpenTelemetry.getPropagators()
-        .getTextMapPropagator()
-        .inject(context, record.headers(), SETTER);
+  /**
+   * Injects the {@code context} into the {@code headers}. Returns {@code false} without injecting
+   * anything when the headers are read-only because the record was already sent.
+   */
+  public static boolean tryInject(TextMapPropagator propagator, Context context, Headers headers) {
+    if (readOnlyHeaders.get(headers) != null) {
+      return false;
+    }
+    try {
+      propagator.inject(context, headers, SETTER);
+      return true;
+    } catch (IllegalStateException e) {
+      // Kafka doesn't expose whether the headers are read-only, remember it so that sending the
+      // same record again doesn't throw again
+      readOnlyHeaders.put(headers, Boolean.TRUE);
+      return false;
+    }
   }
 
   private KafkaPropagation() {}
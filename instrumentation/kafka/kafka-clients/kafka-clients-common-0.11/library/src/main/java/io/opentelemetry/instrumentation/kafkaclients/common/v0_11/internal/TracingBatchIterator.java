@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+
+/**
+ * Iterator that creates a single process span for the whole iteration over {@link
+ * ConsumerRecords}, instead of one span per record. The span is started when the first record is
+ * requested and ended when the iteration completes. Like {@link TracingIterator}, the span is made
+ * current for each record separately, from {@link #next()} until the following call to {@link
+ * #hasNext()} or {@link #next()}. When the iteration is abandoned (e.g. the consumer breaks out of
+ * the loop), {@link #endUnfinished()} closes the scope and ends the span at the next poll or when
+ * the consumer is closed on the same thread. The span of an abandoned iteration ends at the time
+ * the iterator was last used, not at the time the abandoned iteration was detected.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public class TracingBatchIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
+
+  // the iterator whose span was started but not ended yet on this thread
+  private static final ThreadLocal<TracingBatchIterator<?, ?>> unfinished = new ThreadLocal<>();
+
+  private final Iterator<ConsumerRecord<K, V>> delegateIterator;
+  private final ConsumerRecords<?, ?> records;
+  private final Instrumenter<KafkaReceiveRequest, Void> instrumenter;
+  private final BooleanSupplier wrappingEnabled;
+  private final Context parentContext;
+  private final KafkaConsumerContext consumerContext;
+  private boolean started;
+
+  /*
+   * Note: this may potentially create problems if this iterator is used from different threads. But
+   * at the moment we cannot do much about this.
+   */
+  @Nullable private KafkaReceiveRequest request;
+  @Nullable private Context context;
+  @Nullable private Scope scope;
+  @Nullable private Instant startTime;
+  private long startNanoTime;
+  private long lastUsedNanoTime;
+
+  private TracingBatchIterator(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      ConsumerRecords<?, ?> records,
+      Instrumenter<KafkaReceiveRequest, Void> instrumenter,
+      BooleanSupplier wrappingEnabled,
+      KafkaConsumerContext consumerContext) {
+    this.delegateIterator = delegateIterator;
+    this.records = records;
+    this.instrumenter = instrumenter;
+    this.wrappingEnabled = wrappingEnabled;
+
+    Context receiveContext = consumerContext.getContext();
+    // use the receive CONSUMER as parent if it's available
+    this.parentContext = receiveContext != null ? receiveContext : Context.current();
+    this.consumerContext = consumerContext;
+  }
+
+  public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      ConsumerRecords<?, ?> records,
+      Instrumenter<KafkaReceiveRequest, Void> instrumenter,
+      BooleanSupplier wrappingEnabled,
+      KafkaConsumerContext consumerContext) {
+    if (wrappingEnabled.getAsBoolean() && !records.isEmpty()) {
+      return new TracingBatchIterator<>(
+          delegateIterator, records, instrumenter, wrappingEnabled, consumerContext);
+    }
+    return delegateIterator;
+  }
+
+  /**
+   * Closes the scope and ends the span of a batch iteration that was abandoned on this thread
+   * before all records were processed. Called before the consumer polls for new records, when the
+   * consumer is closed and before another batch span is started.
+   */
+  public static void endUnfinished() {
+    TracingBatchIterator<?, ?> iterator = unfinished.get();
+    if (iterator != null) {
+      iterator.closeScope();
+      iterator.endAbandonedSpan();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    closeScope();
+    boolean hasNext = delegateIterator.hasNext();
+    if (!hasNext) {
+      endSpan();
+    } else if (context != null) {
+      lastUsedNanoTime = System.nanoTime();
+    }
+    return hasNext;
+  }
+
+  @Override
+  public ConsumerRecord<K, V> next() {
+    // in case they didn't call hasNext()...
+    closeScope();
+
+    ConsumerRecord<K, V> next = delegateIterator.next();
+    // the span covers the processing of all records, so it's started only once, before the first
+    // record is handed out; span links to the producers are extracted when the span starts
+    // it's important not to suppress consumer span creation here using Instrumenter.shouldStart(),
+    // see TracingIterator
+    if (!started && next != null && wrappingEnabled.getAsBoolean()) {
+      started = true;
+      endUnfinished();
+      request = KafkaReceiveRequest.create(consumerContext, records);
+      startTime = Instant.now();
+      startNanoTime = System.nanoTime();
+      context = instrumenter.start(parentContext, request);
+      unfinished.set(this);
+    }
+    if (context != null) {
+      lastUsedNanoTime = System.nanoTime();
+      scope = context.makeCurrent();
+    }
+    return next;
+  }
+
+  private void closeScope() {
+    if (scope != null) {
+      scope.close();
+      scope = null;
+    }
+  }
+
+  private void endSpan() {
+    if (context != null) {
+      instrumenter.end(context, request, null, null);
+      clear();
+    }
+  }
+
+  private void endAbandonedSpan() {
+    if (context != null && startTime != null) {
+      Instant endTime = startTime.plusNanos(lastUsedNanoTime - startNanoTime);
+      InstrumenterUtil.end(instrumenter, context, request, null, null, endTime);
+      clear();
+    }
+  }
+
+  private void clear() {
+    request = null;
+    context = null;
+    startTime = null;
+    // another iterator may have been registered on this thread in the meantime
+    if (unfinished.get() == this) {
+      unfinished.remove();
+    }
+  }
+
+  @Override
+  public void remove() {
+    delegateIterator.remove();
+  }
+}
@@ -1,5 +1,6 @@
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 base.archivesName.set("${base.archivesName.get()}-autoconfigure")
@@ -9,6 +10,8 @@ dependencies {
   library("org.apache.logging.log4j:log4j-core:2.17.0")
 
   testImplementation(project(":instrumentation:log4j:log4j-context-data:log4j-context-data-common:testing"))
+
+  jmhImplementation("org.apache.logging.log4j:log4j-core:2.17.0")
 }
 
 tasks {
@@ -42,4 +45,11 @@ tasks {
   named("check") {
     dependsOn(testAddBaggage, testLoggingKeys)
   }
+
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      enabled.set(false)
+    }
+  }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.contextdata.v2_17;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import java.util.Map;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Supplies the context data of one log event while a span is current, like Log4j does in its
+ * default and in its garbage-free mode, see the {@code gc.alloc.rate.norm} results for the
+ * allocations per event.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class ContextDataProviderBenchmark {
+
+  private final OpenTelemetryContextDataProvider provider = new OpenTelemetryContextDataProvider();
+  // the context data of the log event, reused by log4j in garbage-free mode
+  private final StringMap eventContextData = new SortedArrayStringMap();
+  private io.opentelemetry.context.Scope scope;
+
+  @Setup
+  public void setUp() {
+    scope =
+        Span.wrap(
+                SpanContext.create(
+                    "0af7651916cd43dd8448eb211c80319c",
+                    "b7ad6b7169203331",
+                    TraceFlags.getSampled(),
+                    TraceState.getDefault()))
+            .makeCurrent();
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public Map<String, String> supplyContextData() {
+    return provider.supplyContextData();
+  }
+
+  @Benchmark
+  public StringMap supplyStringMap() {
+    eventContextData.clear();
+    eventContextData.putAll(provider.supplyStringMap());
+    return eventContextData;
+  }
+}
@@ -15,16 +15,20 @@ import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
 import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.log4j.contextdata.v2_17.internal.ContextDataKeys;
 import io.opentelemetry.javaagent.bootstrap.internal.ConfiguredResourceAttributesHolder;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
 
 /**
  * Implementation of Log4j 2's {@link ContextDataProvider} which is loaded via SPI. {@link
- * #supplyContextData()} is called when a log entry is created.
+ * #supplyContextData()} or {@link #supplyStringMap()} is called when a log entry is created.
  */
 public class OpenTelemetryContextDataProvider implements ContextDataProvider {
 
@@ -37,9 +41,18 @@ public class OpenTelemetryContextDataProvider implements ContextDataProvider {
               ConfigPropertiesUtil.getBoolean(
                   "otel.instrumentation.log4j-context-data.add-baggage", false));
 
+  private static final ContextDataKeys contextDataKeys =
+      ContextDataKeys.create(GlobalOpenTelemetry.get());
+
+  private static final Cache<String, String> baggageKeys = Cache.bounded(100);
+
   private static final boolean configuredResourceAttributeAccessible =
       isConfiguredResourceAttributeAccessible();
   private static final Map<String, String> staticContextData = getStaticContextData();
+  private static final StringMap staticStringMap = toFrozenStringMap(staticContextData);
+
+  private static final ThreadLocal<ReusableContextData> reusableContextData =
+      ThreadLocal.withInitial(ReusableContextData::new);
 
   private static Map<String, String> getStaticContextData() {
     if (configuredResourceAttributeAccessible) {
@@ -48,6 +61,13 @@ public class OpenTelemetryContextDataProvider implements ContextDataProvider {
     return emptyMap();
   }
 
+  private static StringMap toFrozenStringMap(Map<String, String> map) {
+    StringMap stringMap = new SortedArrayStringMap(map.size());
+    map.forEach(stringMap::putValue);
+    stringMap.freeze();
+    return stringMap;
+  }
+
   /**
    * Checks whether {@link ConfiguredResourceAttributesHolder} is available in classpath. The result
    * is true if {@link ConfiguredResourceAttributesHolder} can be loaded, false otherwise.
@@ -74,31 +94,69 @@ public class OpenTelemetryContextDataProvider implements ContextDataProvider {
   @Override
   public Map<String, String> supplyContextData() {
     Context context = Context.current();
-    Span currentSpan = Span.fromContext(context);
-    if (!currentSpan.getSpanContext().isValid()) {
-      return staticContextData;
-    }
-
-    ContextDataKeys contextDataKeys = ContextDataKeys.create(GlobalOpenTelemetry.get());
-    if (ThreadContext.containsKey(contextDataKeys.getTraceIdKey())) {
-      // Assume already instrumented event if traceId is present.
+    SpanContext spanContext = Span.fromContext(context).getSpanContext();
+    if (!shouldAddSpanContext(spanContext)) {
       return staticContextData;
     }
 
     Map<String, String> contextData = new HashMap<>(staticContextData);
-    SpanContext spanContext = currentSpan.getSpanContext();
     contextData.put(contextDataKeys.getTraceIdKey(), spanContext.getTraceId());
     contextData.put(contextDataKeys.getSpanIdKey(), spanContext.getSpanId());
     contextData.put(contextDataKeys.getTraceFlags(), spanContext.getTraceFlags().asHex());
 
     if (BAGGAGE_ENABLED) {
-      Baggage baggage = Baggage.fromContext(context);
-      for (Map.Entry<String, BaggageEntry> entry : baggage.asMap().entrySet()) {
-        // prefix all baggage values to avoid clashes with existing context
-        contextData.put("baggage." + entry.getKey(), entry.getValue().getValue());
-      }
+      Baggage.fromContext(context)
+          .forEach((key, entry) -> contextData.put(baggageKey(key), entry.getValue()));
     }
 
     return contextData;
   }
+
+  /**
+   * Returns the same context data as {@link #supplyContextData()}, without allocating. Log4j calls
+   * this method instead of {@link #supplyContextData()} in garbage-free mode and copies the returned
+   * map into the context data of the log event, so a map reused by the calling thread can be
+   * returned.
+   */
+  @Override
+  public StringMap supplyStringMap() {
+    Context context = Context.current();
+    SpanContext spanContext = Span.fromContext(context).getSpanContext();
+    if (!shouldAddSpanContext(spanContext)) {
+      return staticStringMap;
+    }
+
+    ReusableContextData contextData = reusableContextData.get();
+    StringMap map = contextData.map;
+    map.clear();
+    map.putAll(staticStringMap);
+    map.putValue(contextDataKeys.getTraceIdKey(), spanContext.getTraceId());
+    map.putValue(contextDataKeys.getSpanIdKey(), spanContext.getSpanId());
+    map.putValue(contextDataKeys.getTraceFlags(), spanContext.getTraceFlags().asHex());
+
+    if (BAGGAGE_ENABLED) {
+      Baggage.fromContext(context).forEach(contextData);
+    }
+
+    return map;
+  }
+
+  private static boolean shouldAddSpanContext(SpanContext spanContext) {
+    // Assume already instrumented event if traceId is present.
+    return spanContext.isValid() && !ThreadContext.containsKey(contextDataKeys.getTraceIdKey());
+  }
+
+  private static String baggageKey(String key) {
+    // prefix all baggage values to avoid clashes with existing context
+    return baggageKeys.computeIfAbsent(key, k -> "baggage." + k);
+  }
+
+  private static final class ReusableContextData implements BiConsumer<String, BaggageEntry> {
+    private final StringMap map = new SortedArrayStringMap();
+
+    @Override
+    public void accept(String key, BaggageEntry entry) {
+      map.putValue(baggageKey(key), entry.getValue());
+    }
+  }
 }
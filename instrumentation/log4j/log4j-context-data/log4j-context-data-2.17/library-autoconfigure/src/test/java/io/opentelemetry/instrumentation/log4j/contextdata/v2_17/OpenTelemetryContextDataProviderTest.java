@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.contextdata.v2_17;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Scope;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetryContextDataProviderTest {
+
+  private final OpenTelemetryContextDataProvider provider = new OpenTelemetryContextDataProvider();
+
+  @Test
+  void supplyStringMap() {
+    assertThat(provider.supplyStringMap().toMap()).isEmpty();
+
+    Span span =
+        Span.wrap(
+            SpanContext.create(
+                "0af7651916cd43dd8448eb211c80319c",
+                "b7ad6b7169203331",
+                TraceFlags.getSampled(),
+                TraceState.getDefault()));
+    StringMap contextData;
+    try (Scope ignored = span.makeCurrent()) {
+      contextData = provider.supplyStringMap();
+      assertThat(contextData.toMap())
+          .containsOnly(
+              entry("trace_id", "0af7651916cd43dd8448eb211c80319c"),
+              entry("span_id", "b7ad6b7169203331"),
+              entry("trace_flags", "01"));
+      assertThat(provider.supplyContextData()).isEqualTo(contextData.toMap());
+
+      // the map is reused by the thread
+      assertThat(provider.supplyStringMap()).isSameAs(contextData);
+    }
+
+    assertThat(provider.supplyStringMap().toMap()).isEmpty();
+  }
+}
@@ -7,11 +7,11 @@ package io.opentelemetry.javaagent.instrumentation.log4j.contextdata.v2_7;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.BaggageEntry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.internal.AgentCommonConfig;
 import io.opentelemetry.javaagent.bootstrap.internal.ConfiguredResourceAttributesHolder;
 import java.util.List;
@@ -31,6 +31,8 @@ public final class SpanDecoratingContextDataInjector implements ContextDataInjec
   private static final String SPAN_ID_KEY = AgentCommonConfig.get().getSpanIdKey();
   private static final String TRACE_FLAGS_KEY = AgentCommonConfig.get().getTraceFlagsKey();
 
+  private static final Cache<String, String> baggageKeys = Cache.bounded(100);
+
   private static final StringMap staticContextData = getStaticContextData();
 
   private final ContextDataInjector delegate;
@@ -61,11 +63,13 @@ public final class SpanDecoratingContextDataInjector implements ContextDataInjec
     newContextData.putValue(TRACE_FLAGS_KEY, currentContext.getTraceFlags().asHex());
 
     if (BAGGAGE_ENABLED) {
-      Baggage baggage = Baggage.fromContext(context);
-      for (Map.Entry<String, BaggageEntry> entry : baggage.asMap().entrySet()) {
-        // prefix all baggage values to avoid clashes with existing context
-        newContextData.putValue("baggage." + entry.getKey(), entry.getValue().getValue());
-      }
+      Baggage.fromContext(context)
+          .forEach(
+              (key, entry) -> {
+                // prefix all baggage values to avoid clashes with existing context
+                String baggageKey = baggageKeys.computeIfAbsent(key, k -> "baggage." + k);
+                newContextData.putValue(baggageKey, entry.getValue());
+              });
     }
     return newContextData;
   }
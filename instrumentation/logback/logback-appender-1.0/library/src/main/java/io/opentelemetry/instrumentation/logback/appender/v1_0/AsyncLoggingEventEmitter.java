@@ -0,0 +1,140 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.ContextAware;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maps logging events to log records on a dedicated thread. The logging thread only prepares the
+ * event for deferred processing, like Logback's {@code AsyncAppender} does, and queues it together
+ * with the current context. The mapper thread takes the queued events in batches.
+ */
+final class AsyncLoggingEventEmitter {
+
+  private static final int MAX_BATCH_SIZE = 512;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final LoggingEventMapper mapper;
+  private final ContextAware statusReporter;
+  private final boolean captureCodeAttributes;
+  private final boolean blockWhenFull;
+  private final BlockingQueue<QueuedEvent> queue;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final Thread thread;
+  private volatile boolean stopped;
+
+  AsyncLoggingEventEmitter(
+      LoggingEventMapper mapper,
+      ContextAware statusReporter,
+      boolean captureCodeAttributes,
+      int queueSize,
+      boolean blockWhenFull) {
+    this.mapper = mapper;
+    this.statusReporter = statusReporter;
+    this.captureCodeAttributes = captureCodeAttributes;
+    this.blockWhenFull = blockWhenFull;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.thread = new Thread(this::run, "otel-logback-appender");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Queues the {@code event}, returns {@code false} if it was dropped because the queue is full or
+   * the logging thread was interrupted while waiting for space in the queue.
+   */
+  boolean emit(LoggerProvider loggerProvider, ILoggingEvent event) {
+    // capture the values that are only available on the logging thread
+    event.prepareForDeferredProcessing();
+    if (captureCodeAttributes) {
+      event.getCallerData();
+    }
+    QueuedEvent queuedEvent = new QueuedEvent(loggerProvider, event, Context.current());
+
+    if (queue.offer(queuedEvent)) {
+      return true;
+    }
+    // don't wait for space once the mapper thread is stopping
+    while (blockWhenFull && !stopped) {
+      try {
+        if (queue.offer(queuedEvent, POLL_INTERVAL_MILLIS, MILLISECONDS)) {
+          return true;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    droppedCount.incrementAndGet();
+    return false;
+  }
+
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /** Stops the mapper thread after it emitted the queued events, waiting at most {@code millis}. */
+  void stop(long millis) {
+    stopped = true;
+    try {
+      thread.join(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      statusReporter.addWarn(
+          "Timed out while emitting the queued events, " + queue.size() + " events were dropped.");
+    }
+  }
+
+  private void run() {
+    List<QueuedEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    while (!stopped || !queue.isEmpty()) {
+      QueuedEvent first;
+      try {
+        first = queue.poll(POLL_INTERVAL_MILLIS, MILLISECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (first == null) {
+        continue;
+      }
+      batch.add(first);
+      queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+      for (QueuedEvent queuedEvent : batch) {
+        try {
+          mapper.emit(queuedEvent.loggerProvider, queuedEvent.event, -1, queuedEvent.context);
+        } catch (RuntimeException e) {
+          statusReporter.addError("Failed to emit logging event.", e);
+        }
+      }
+      batch.clear();
+    }
+  }
+
+  private static final class QueuedEvent {
+    private final LoggerProvider loggerProvider;
+    private final ILoggingEvent event;
+    private final Context context;
+
+    private QueuedEvent(LoggerProvider loggerProvider, ILoggingEvent event, Context context) {
+      this.loggerProvider = loggerProvider;
+      this.event = event;
+      this.context = context;
+    }
+  }
+}
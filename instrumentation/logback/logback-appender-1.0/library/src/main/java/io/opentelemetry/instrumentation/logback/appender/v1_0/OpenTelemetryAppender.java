@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -42,9 +43,14 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
   private boolean captureLogstashStructuredArguments = false;
   private List<String> captureMdcAttributes = emptyList();
   private boolean captureEventName = false;
+  private int asyncQueueSize = 0;
+  private boolean asyncBlockWhenFull = false;
+  private long asyncMaxFlushTime = 1000;
 
   private volatile OpenTelemetry openTelemetry;
   private LoggingEventMapper mapper;
+  @Nullable private volatile AsyncLoggingEventEmitter asyncEmitter;
+  private final AtomicBoolean asyncDropWarningLogged = new AtomicBoolean();
 
   private int numLogsCapturedBeforeOtelInstall = 1000;
   private BlockingQueue<LoggingEventToReplay> eventsToReplay =
@@ -97,9 +103,23 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
             .setCaptureEventName(captureEventName)
             .build();
     eventsToReplay = new ArrayBlockingQueue<>(numLogsCapturedBeforeOtelInstall);
+    asyncEmitter =
+        asyncQueueSize > 0
+            ? new AsyncLoggingEventEmitter(
+                mapper, this, captureCodeAttributes, asyncQueueSize, asyncBlockWhenFull)
+            : null;
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncLoggingEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.stop(asyncMaxFlushTime);
+    }
+  }
+
   @SuppressWarnings("SystemOut")
   @Override
   protected void append(ILoggingEvent event) {
@@ -234,6 +254,40 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     this.captureEventName = captureEventName;
   }
 
+  /**
+   * Sets the size of the queue of the logging events that are mapped to log records on a dedicated
+   * thread instead of on the logging thread. The default is 0, which maps the logging events on the
+   * logging thread.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
+  /**
+   * Sets whether the logging thread waits for space in the queue when the queue set with {@link
+   * #setAsyncQueueSize(int)} is full. By default the logging event is dropped.
+   */
+  public void setAsyncBlockWhenFull(boolean asyncBlockWhenFull) {
+    this.asyncBlockWhenFull = asyncBlockWhenFull;
+  }
+
+  /**
+   * Sets the maximum time in milliseconds to wait for the queued logging events to be emitted when
+   * the appender is stopped. The default is 1000.
+   */
+  public void setAsyncMaxFlushTime(long asyncMaxFlushTime) {
+    this.asyncMaxFlushTime = asyncMaxFlushTime;
+  }
+
+  /**
+   * Returns the number of logging events that were dropped because the queue set with {@link
+   * #setAsyncQueueSize(int)} was full.
+   */
+  public long getAsyncDroppedCount() {
+    AsyncLoggingEventEmitter asyncEmitter = this.asyncEmitter;
+    return asyncEmitter != null ? asyncEmitter.getDroppedCount() : 0;
+  }
+
   /**
    * Log telemetry is emitted after the initialization of the OpenTelemetry Logback appender with an
    * {@link OpenTelemetry} object. This setting allows you to modify the size of the cache used to
@@ -268,7 +322,17 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
   }
 
   private void emit(OpenTelemetry openTelemetry, ILoggingEvent event) {
-    mapper.emit(openTelemetry.getLogsBridge(), event, -1);
+    AsyncLoggingEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter == null) {
+      mapper.emit(openTelemetry.getLogsBridge(), event, -1);
+      return;
+    }
+    if (!asyncEmitter.emit(openTelemetry.getLogsBridge(), event)
+        && !asyncDropWarningLogged.getAndSet(true)) {
+      addWarn(
+          "asyncQueueSize value of the OpenTelemetry appender is too small, logging events are"
+              + " dropped.");
+    }
   }
 
   // copied from SDK's DefaultConfigProperties
@@ -113,19 +113,28 @@ public final class LoggingEventMapper {
   }
 
   public void emit(LoggerProvider loggerProvider, ILoggingEvent event, long threadId) {
+    emit(loggerProvider, event, threadId, Context.current());
+  }
+
+  /**
+   * Emits the {@code event} with the {@code context} that was current when it was logged, which
+   * differs from the current context when the event is emitted on another thread.
+   */
+  public void emit(
+      LoggerProvider loggerProvider, ILoggingEvent event, long threadId, Context context) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
     LogRecordBuilder builder =
         loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
-    mapLoggingEvent(builder, event, threadId);
+    mapLoggingEvent(builder, event, threadId, context);
     builder.emit();
   }
 
   /** Map the {@link ILoggingEvent} data model onto the {@link LogRecordBuilder}. */
   private void mapLoggingEvent(
-      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId) {
+      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId, Context context) {
     // message
     String message = loggingEvent.getFormattedMessage();
     if (message != null) {
@@ -235,7 +244,7 @@ public final class LoggingEventMapper {
       captureLogstashMarkerAttributes(builder, loggingEvent);
     }
     // span context
-    builder.setContext(Context.current());
+    builder.setContext(context);
   }
 
   // getInstant is available since Logback 1.3
@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class AsyncQueueOpenTelemetryAppenderTest {
+
+  @RegisterExtension
+  private static final LibraryInstrumentationExtension testing =
+      LibraryInstrumentationExtension.create();
+
+  private final LoggerContext loggerContext = new LoggerContext();
+  private final OpenTelemetryAppender appender = new OpenTelemetryAppender();
+  private Logger logger;
+
+  @BeforeEach
+  void setup() {
+    appender.setContext(loggerContext);
+    appender.setAsyncQueueSize(16);
+    appender.start();
+    appender.setOpenTelemetry(testing.getOpenTelemetry());
+
+    logger = loggerContext.getLogger("TestLogger");
+    logger.addAppender(appender);
+  }
+
+  @AfterEach
+  void cleanup() {
+    appender.stop();
+  }
+
+  @Test
+  void logWithSpan() {
+    Span span =
+        testing.runWithSpan(
+            "span",
+            () -> {
+              logger.info("log message 1");
+              return Span.current();
+            });
+    logger.info("log message 2");
+
+    // emits the queued events
+    appender.stop();
+
+    testing.waitAndAssertLogRecords(
+        logRecord -> logRecord.hasBody("log message 1").hasSpanContext(span.getSpanContext()),
+        logRecord -> logRecord.hasBody("log message 2").hasSpanContext(SpanContext.getInvalid()));
+    assertThat(appender.getAsyncDroppedCount()).isZero();
+  }
+
+  @Test
+  void dropWhenFull() throws Exception {
+    BlockingProcessor blockingProcessor = new BlockingProcessor();
+    InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+    OpenTelemetryAppender fullQueueAppender =
+        startFullQueueAppender(blockingProcessor, exporter, false);
+    Logger fullQueueLogger = loggerContext.getLogger("FullQueueLogger");
+    fullQueueLogger.addAppender(fullQueueAppender);
+
+    try {
+      fullQueueLogger.info("log message 1");
+      // the mapper thread is emitting the first event, the second one fills the queue
+      blockingProcessor.awaitBlocked();
+      fullQueueLogger.info("log message 2");
+      fullQueueLogger.info("log message 3");
+
+      assertThat(fullQueueAppender.getAsyncDroppedCount()).isEqualTo(1);
+    } finally {
+      blockingProcessor.release();
+      fullQueueAppender.stop();
+    }
+
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(
+            logRecord -> assertThat(logRecord).hasBody("log message 1"),
+            logRecord -> assertThat(logRecord).hasBody("log message 2"));
+  }
+
+  @Test
+  void blockWhenFull() throws Exception {
+    BlockingProcessor blockingProcessor = new BlockingProcessor();
+    InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+    OpenTelemetryAppender fullQueueAppender =
+        startFullQueueAppender(blockingProcessor, exporter, true);
+    Logger fullQueueLogger = loggerContext.getLogger("FullQueueLogger");
+    fullQueueLogger.addAppender(fullQueueAppender);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      fullQueueLogger.info("log message 1");
+      // the mapper thread is emitting the first event, the second one fills the queue
+      blockingProcessor.awaitBlocked();
+      fullQueueLogger.info("log message 2");
+
+      // the logging thread waits for space in the queue
+      Future<?> blockedLogging = executor.submit(() -> fullQueueLogger.info("log message 3"));
+      assertThatThrownBy(() -> blockedLogging.get(200, MILLISECONDS))
+          .isInstanceOf(TimeoutException.class);
+
+      blockingProcessor.release();
+      blockedLogging.get(10, SECONDS);
+      assertThat(fullQueueAppender.getAsyncDroppedCount()).isZero();
+    } finally {
+      blockingProcessor.release();
+      fullQueueAppender.stop();
+      executor.shutdown();
+    }
+
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(
+            logRecord -> assertThat(logRecord).hasBody("log message 1"),
+            logRecord -> assertThat(logRecord).hasBody("log message 2"),
+            logRecord -> assertThat(logRecord).hasBody("log message 3"));
+  }
+
+  // an appender with a queue of one event, starts blocking the mapper thread on the first event
+  private OpenTelemetryAppender startFullQueueAppender(
+      BlockingProcessor blockingProcessor,
+      InMemoryLogRecordExporter exporter,
+      boolean blockWhenFull) {
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setLoggerProvider(
+                SdkLoggerProvider.builder()
+                    .addLogRecordProcessor(blockingProcessor)
+                    .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+                    .build())
+            .build();
+    OpenTelemetryAppender fullQueueAppender = new OpenTelemetryAppender();
+    fullQueueAppender.setContext(loggerContext);
+    fullQueueAppender.setAsyncQueueSize(1);
+    fullQueueAppender.setAsyncBlockWhenFull(blockWhenFull);
+    fullQueueAppender.start();
+    fullQueueAppender.setOpenTelemetry(openTelemetry);
+    return fullQueueAppender;
+  }
+
+  private static class BlockingProcessor implements LogRecordProcessor {
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @Override
+    public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+      blocked.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void awaitBlocked() throws InterruptedException {
+      assertThat(blocked.await(10, SECONDS)).isTrue();
+    }
+
+    void release() {
+      released.countDown();
+    }
+  }
+}
@@ -13,6 +13,7 @@ import io.opentelemetry.context.ContextStorage;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.util.function.Function;
 import java.util.logging.Logger;
 
@@ -39,6 +40,13 @@ public class AgentContextStorage
   // MethodHandle for ContextStorage.root() that was added in 1.5
   private static final MethodHandle CONTEXT_STORAGE_ROOT_HANDLE = getContextStorageRootHandle();
 
+  // the wrapper last returned by current() on this thread, returned again while the current context
+  // doesn't change. It is referenced weakly, the agent context can be attached and detached without
+  // going through this storage, and a pooled thread would otherwise keep the last context (and its
+  // span and baggage) reachable after its scope is closed.
+  private static final ThreadLocal<WeakReference<AgentContextWrapper>> currentWrapper =
+      new ThreadLocal<>();
+
   // unwrapped application root context
   private final application.io.opentelemetry.context.Context applicationRoot;
   // wrapped application root context
@@ -187,7 +195,17 @@ public class AgentContextStorage
     if (applicationContext == applicationRoot && agentContext == Context.root()) {
       return root;
     }
-    return new AgentContextWrapper(agentContext, applicationContext);
+    WeakReference<AgentContextWrapper> reference = currentWrapper.get();
+    AgentContextWrapper wrapper = reference != null ? reference.get() : null;
+    // the cached wrapper is only valid for the contexts it was created for
+    if (wrapper != null
+        && wrapper.agentContext == agentContext
+        && wrapper.applicationContext == applicationContext) {
+      return wrapper;
+    }
+    wrapper = new AgentContextWrapper(agentContext, applicationContext);
+    currentWrapper.set(new WeakReference<>(wrapper));
+    return wrapper;
   }
 
   @Override
@@ -10,25 +10,30 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.javaagent.instrumentation.opentelemetryapi.baggage.BaggageBridging;
 import io.opentelemetry.javaagent.instrumentation.opentelemetryapi.trace.Bridging;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 
 final class AgentContextWrapper implements application.io.opentelemetry.context.Context {
 
-  static final List<ContextKeyBridge<?, ?>> CONTEXT_KEY_BRIDGES;
+  // an array rather than a list, so that iterating it doesn't allocate
+  private static final ContextKeyBridge<?, ?>[] CONTEXT_KEY_BRIDGES;
+  @Nullable private static final ContextKeyBridge<?, ?> SPAN_BRIDGE;
 
   static {
     List<ContextKeyBridge<?, ?>> bridges = new ArrayList<>();
+    ContextKeyBridge<?, ?> spanBridge = null;
     try {
-      bridges.add(
+      spanBridge =
           new ContextKeyBridge<application.io.opentelemetry.api.trace.Span, Span>(
               "application.io.opentelemetry.api.trace.SpanContextKey",
               "io.opentelemetry.api.trace.SpanContextKey",
               Bridging::toApplication,
-              Bridging::toAgentOrNull));
+              Bridging::toAgentOrNull);
+      bridges.add(spanBridge);
     } catch (Throwable ignored) {
       // reflection error; in practice should never happen, we can ignore it
     }
+    SPAN_BRIDGE = spanBridge;
     try {
       bridges.add(
           new ContextKeyBridge<>(
@@ -40,11 +45,14 @@ final class AgentContextWrapper implements application.io.opentelemetry.context.
       // reflection error; in practice should never happen, we can ignore it
     }
     bridges.addAll(InstrumentationApiContextBridging.instrumentationApiBridges());
-    CONTEXT_KEY_BRIDGES = Collections.unmodifiableList(bridges);
+    CONTEXT_KEY_BRIDGES = bridges.toArray(new ContextKeyBridge<?, ?>[0]);
   }
 
   final Context agentContext;
   final application.io.opentelemetry.context.Context applicationContext;
+  // the bridged application span, AgentContextStorage.current() reuses the wrapper of the current
+  // context so that repeated Span.current() calls don't convert the agent span again
+  @Nullable private Object applicationSpan;
 
   AgentContextWrapper(Context agentContext) {
     this(agentContext, agentContext.get(AgentContextStorage.APPLICATION_CONTEXT));
@@ -72,16 +80,36 @@ final class AgentContextWrapper implements application.io.opentelemetry.context.
 
   @Override
   public <V> V get(application.io.opentelemetry.context.ContextKey<V> key) {
-    for (ContextKeyBridge<?, ?> bridge : CONTEXT_KEY_BRIDGES) {
-      V value = bridge.get(this, key);
+    if (SPAN_BRIDGE != null && SPAN_BRIDGE.bridges(key)) {
+      V value = getSpan(SPAN_BRIDGE, key);
       if (value != null) {
         return value;
       }
+    } else {
+      for (ContextKeyBridge<?, ?> bridge : CONTEXT_KEY_BRIDGES) {
+        V value = bridge.get(this, key);
+        if (value != null) {
+          return value;
+        }
+      }
     }
 
     return applicationContext.get(key);
   }
 
+  @Nullable
+  private <V> V getSpan(
+      ContextKeyBridge<?, ?> spanBridge, application.io.opentelemetry.context.ContextKey<V> key) {
+    Object span = applicationSpan;
+    if (span == null) {
+      span = spanBridge.get(this, key);
+      applicationSpan = span;
+    }
+    @SuppressWarnings("unchecked") // the span bridge returns spans for the span key
+    V value = (V) span;
+    return value;
+  }
+
   @Override
   public <V> application.io.opentelemetry.context.Context with(
       application.io.opentelemetry.context.ContextKey<V> k1, V v1) {
@@ -85,6 +85,10 @@ final class ContextKeyBridge<APPLICATION, AGENT> {
     this.toAgent = toAgent;
   }
 
+  boolean bridges(application.io.opentelemetry.context.ContextKey<?> applicationKey) {
+    return applicationKey == applicationContextKey;
+  }
+
   @Nullable
   <V> V get(
       AgentContextWrapper contextWrapper,
@@ -179,6 +179,29 @@ class ContextBridgeTest {
     assertThat(Context.current()).isEqualTo(Context.root());
   }
 
+  @Test
+  @DisplayName("current context is reused while it doesn't change")
+  void currentContextIsReused() {
+    Span span = GlobalOpenTelemetry.getTracer("test").spanBuilder("test").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      Context context = Context.current();
+      assertThat(Context.current()).isSameAs(context);
+      assertThat(Span.current()).isSameAs(Span.current());
+      assertThat(Span.current().getSpanContext()).isEqualTo(span.getSpanContext());
+
+      try (Scope ignored2 = context.with(ANIMAL, "cat").makeCurrent()) {
+        assertThat(Context.current()).isNotSameAs(context);
+        assertThat(Context.current().get(ANIMAL)).isEqualTo("cat");
+        assertThat(Span.current().getSpanContext()).isEqualTo(span.getSpanContext());
+      }
+
+      assertThat(Context.current().get(ANIMAL)).isNull();
+      assertThat(Span.current().getSpanContext()).isEqualTo(span.getSpanContext());
+    } finally {
+      span.end();
+    }
+  }
+
   // TODO (trask)
   // more tests are needed here, not sure how to implement, probably need to write some test
   // instrumentation to help test, similar to :testing-common:integration-tests
@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs a synchronous pipeline of ten operators over a million elements, with and without the
+ * {@link ContextPropagationOperator} hook. The hook wraps the subscriber of the source, the
+ * subscribers of the synchronous operators are not wrapped.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class FluxPipelineBenchmark {
+
+  private static final int ELEMENTS = 1_000_000;
+
+  @Param({"false", "true"})
+  public boolean instrumented;
+
+  private final ContextPropagationOperator operator = ContextPropagationOperator.create();
+  private final Context context =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "0af7651916cd43dd8448eb211c80319c",
+                      "b7ad6b7169203331",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Setup
+  public void setUp() {
+    if (instrumented) {
+      operator.registerOnEachOperator();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    operator.resetOnEachOperator();
+  }
+
+  @Benchmark
+  public Long pipeline() {
+    try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+      return Flux.range(0, ELEMENTS)
+          .map(i -> i + 1)
+          .filter(i -> i % 3 != 0)
+          .map(i -> i * 2L)
+          .filter(i -> i % 5 != 0)
+          .map(i -> i - 1)
+          .distinctUntilChanged()
+          .map(i -> i / 2)
+          .filter(i -> i >= 0)
+          .map(i -> i + 3)
+          .reduce(0L, Long::sum)
+          .block();
+    }
+  }
+}
@@ -60,6 +60,8 @@ public final class ContextPropagationOperator {
 
   @Nullable private static final MethodHandle SCHEDULERS_HOOK_METHOD = getSchedulersHookMethod();
 
+  @Nullable private static final Scannable.Attr<?> RUN_STYLE_ATTR = getRunStyleAttr();
+
   @Nullable
   private static MethodHandle getContextWriteMethod(Class<?> type) {
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
@@ -88,6 +90,17 @@ public final class ContextPropagationOperator {
     return null;
   }
 
+  @Nullable
+  private static Scannable.Attr<?> getRunStyleAttr() {
+    // added in reactor 3.4
+    try {
+      return (Scannable.Attr<?>) Scannable.Attr.class.getField("RUN_STYLE").get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      // ignore
+    }
+    return null;
+  }
+
   public static ContextPropagationOperator create() {
     return builder().build();
   }
@@ -272,6 +285,30 @@ public final class ContextPropagationOperator {
     return !(publisher instanceof Fuseable.ScalarCallable);
   }
 
+  // An operator that runs synchronously only emits signals while handling a signal of its upstream,
+  // on the same thread. When its upstream is a reactor operator that this hook was applied to, the
+  // upstream subscriber is wrapped and already makes the trace context of the reactor context
+  // current (operators that modify the reactor context are excluded). Wrapping the subscriber of
+  // the synchronous operator as well would only make the same context current again for every
+  // signal, and it would also prevent the operator from being fused with its subscriber.
+  private static boolean skipWrapping(Scannable publisher, CoreSubscriber<?> subscriber) {
+    if (RUN_STYLE_ATTR == null
+        || !isSynchronous(publisher)
+        || publisher.getClass().getName().contains("Context")
+        || TracingSubscriber.isRetrySubscriber(subscriber)) {
+      return false;
+    }
+    Object parent = publisher.scanUnsafe(Scannable.Attr.PARENT);
+    return parent != null
+        && parent.getClass().getName().startsWith("reactor.core.publisher.")
+        && !(parent instanceof Fuseable.ScalarCallable);
+  }
+
+  private static boolean isSynchronous(Scannable publisher) {
+    Object runStyle = publisher.scan(RUN_STYLE_ATTR);
+    return runStyle instanceof Enum && ((Enum<?>) runStyle).name().equals("SYNC");
+  }
+
   private static class Lifter<T>
       implements BiFunction<Scannable, CoreSubscriber<? super T>, CoreSubscriber<? super T>> {
 
@@ -285,6 +322,9 @@ public final class ContextPropagationOperator {
 
     @Override
     public CoreSubscriber<? super T> apply(Scannable publisher, CoreSubscriber<? super T> sub) {
+      if (skipWrapping(publisher, sub)) {
+        return sub;
+      }
       return new TracingSubscriber<>(sub, sub.currentContext());
     }
   }
@@ -8,11 +8,20 @@ package io.opentelemetry.instrumentation.reactor.v3_1;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -35,6 +44,49 @@ class HooksTest {
     assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
   }
 
+  @Test
+  void synchronousOperators() {
+    ContextPropagationOperator operator = ContextPropagationOperator.create();
+    operator.registerOnEachOperator();
+    try {
+      Span span =
+          Span.wrap(
+              SpanContext.create(
+                  "0af7651916cd43dd8448eb211c80319c",
+                  "b7ad6b7169203331",
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()));
+      Flux<Span> flux = Flux.range(0, 3).map(i -> Span.current()).filter(s -> true);
+
+      // the trace context is still current in the synchronous operators
+      assertThat(
+              ContextPropagationOperator.runWithContext(flux, Context.root().with(span))
+                  .collectList()
+                  .block())
+          .containsExactly(span, span, span);
+
+      AtomicReference<Subscription> subscription = new AtomicReference<>();
+      BaseSubscriber<Span> subscriber =
+          new BaseSubscriber<Span>() {
+            @Override
+            protected void hookOnSubscribe(Subscription s) {
+              subscription.set(s);
+              requestUnbounded();
+            }
+          };
+      flux.subscribe(subscriber);
+      Object actual = Scannable.from(subscription.get()).scan(Scannable.Attr.ACTUAL);
+      if (Boolean.getBoolean("testLatestDeps")) {
+        // reactor 3.4 and later report which operators run synchronously
+        assertThat(actual).isSameAs(subscriber);
+      } else {
+        assertThat(actual).isInstanceOf(TracingSubscriber.class);
+      }
+    } finally {
+      operator.resetOnEachOperator();
+    }
+  }
+
   private static class CapturingMono extends Mono<Integer> {
     final AtomicReference<CoreSubscriber<? super Integer>> subscriber;
 
@@ -22,7 +22,10 @@ import java.security.Permission;
 import java.security.PermissionCollection;
 import java.security.Permissions;
 import java.security.cert.Certificate;
+import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -77,6 +80,9 @@ public class AgentClassLoader extends URLClassLoader {
   private final CodeSource codeSource;
   private final boolean isSecurityManagerSupportEnabled;
   private final Manifest manifest;
+  // versions of the multi-release entries by entry name in ascending order, null when multi-release
+  // jars are not supported
+  @Nullable private final Map<String, int[]> multiReleaseIndex;
 
   // Used by tests
   public AgentClassLoader(File javaagentFile) {
@@ -138,6 +144,8 @@ public class AgentClassLoader extends URLClassLoader {
     } catch (IOException e) {
       throw new IllegalStateException("Unable to open agent jar", e);
     }
+    multiReleaseIndex =
+        MULTI_RELEASE_JAR_ENABLE ? indexMultiReleaseEntries(jarFile, jarEntryPrefix) : null;
 
     bootstrapProxy =
         new BootstrapClassLoaderProxy(
@@ -169,6 +177,45 @@ public class AgentClassLoader extends URLClassLoader {
     }
   }
 
+  /**
+   * Indexes the multi-release entries, the entries under {@code META-INF/versions/}, from the
+   * central directory of the jar. Custom distributions repackage the agent jar, so the index is
+   * built from the jar that is actually used instead of being generated when the agent is built.
+   */
+  private static Map<String, int[]> indexMultiReleaseEntries(
+      JarFile jarFile, String jarEntryPrefix) {
+    String versionsPrefix = jarEntryPrefix + META_INF_VERSIONS;
+    Map<String, int[]> index = new HashMap<>();
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      String entryName = entries.nextElement().getName();
+      if (!entryName.startsWith(versionsPrefix) || entryName.endsWith("/")) {
+        continue;
+      }
+      int slash = entryName.indexOf('/', versionsPrefix.length());
+      if (slash == -1) {
+        continue;
+      }
+      int version;
+      try {
+        version = Integer.parseInt(entryName.substring(versionsPrefix.length(), slash));
+      } catch (NumberFormatException ignored) {
+        continue;
+      }
+      String name = entryName.substring(slash + 1);
+      int[] versions = index.get(name);
+      if (versions == null) {
+        versions = new int[] {version};
+      } else {
+        versions = Arrays.copyOf(versions, versions.length + 1);
+        versions[versions.length - 1] = version;
+        Arrays.sort(versions);
+      }
+      index.put(name, versions);
+    }
+    return index;
+  }
+
   @Nullable
   private static ClassLoader getParentClassLoader() {
     if (JAVA_VERSION > 8) {
@@ -308,19 +355,25 @@ public class AgentClassLoader extends URLClassLoader {
   private AgentJarResource findVersionedAgentJarResource(
       @Nullable AgentJarResource jarResource, String name) {
     // same logic as in JarFile.getVersionedEntry
-    if (!name.startsWith(META_INF)) {
-      // search for versioned entry by looping over possible versions form high to low
-      int version = JAVA_VERSION;
-      while (version >= MIN_MULTI_RELEASE_JAR_JAVA_VERSION) {
+    if (name.startsWith(META_INF) || multiReleaseIndex == null) {
+      return jarResource;
+    }
+    int[] versions = multiReleaseIndex.get(name);
+    if (versions == null) {
+      // no versioned entries, most classes don't have any
+      return jarResource;
+    }
+    // search for versioned entry by looping over the versions from high to low
+    for (int i = versions.length - 1; i >= 0; i--) {
+      int version = versions[i];
+      if (version <= JAVA_VERSION && version >= MIN_MULTI_RELEASE_JAR_JAVA_VERSION) {
         String versionedJarEntryName = jarEntryPrefix + META_INF_VERSIONS + version + "/" + name;
         JarEntry versionedJarEntry = jarFile.getJarEntry(versionedJarEntryName);
         if (versionedJarEntry != null) {
           return AgentJarResource.create(versionedJarEntryName, versionedJarEntry);
         }
-        version--;
       }
     }
-
     return jarResource;
   }
 
@@ -5,16 +5,22 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.Phaser;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
 class AgentClassLoaderTest {
   private static final Method getClassLoadingLockMethod;
@@ -120,4 +126,47 @@ class AgentClassLoaderTest {
       assertThat(result.length > 0).isNotEqualTo(jdk8);
     }
   }
+
+  @Test
+  void multiReleaseIndex(@TempDir Path tempDir) throws Exception {
+    int javaVersion = getJavaVersion();
+    File jar = tempDir.resolve("agent.jar").toFile();
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+      for (String name :
+          asList(
+              "Foo.txt",
+              "META-INF/versions/9/Foo.txt",
+              "META-INF/versions/" + javaVersion + "/Foo.txt",
+              "META-INF/versions/" + (javaVersion + 1) + "/Foo.txt",
+              "Bar.txt",
+              "META-INF/versions/9/Bar.txt",
+              "Baz.txt")) {
+        out.putNextEntry(new JarEntry(name));
+        out.closeEntry();
+      }
+    }
+
+    try (AgentClassLoader loader = new AgentClassLoader(jar)) {
+      URL foo = loader.findResource("Foo.txt");
+      URL bar = loader.findResource("Bar.txt");
+      URL baz = loader.findResource("Baz.txt");
+
+      assertThat(foo).isNotNull();
+      assertThat(bar).isNotNull();
+      assertThat(baz).isNotNull();
+      if (javaVersion == 8) {
+        assertThat(foo.getPath()).isEqualTo("/Foo.txt");
+        assertThat(bar.getPath()).isEqualTo("/Bar.txt");
+      } else {
+        assertThat(foo.getPath()).isEqualTo("/META-INF/versions/" + javaVersion + "/Foo.txt");
+        assertThat(bar.getPath()).isEqualTo("/META-INF/versions/9/Bar.txt");
+      }
+      assertThat(baz.getPath()).isEqualTo("/Baz.txt");
+    }
+  }
+
+  private static int getJavaVersion() {
+    String javaSpecVersion = System.getProperty("java.specification.version");
+    return "1.8".equals(javaSpecVersion) ? 8 : Integer.parseInt(javaSpecVersion);
+  }
 }
@@ -1,6 +1,7 @@
 plugins {
   id("otel.java-conventions")
   id("otel.publish-conventions")
+  id("otel.jmh-conventions")
 }
 
 group = "io.opentelemetry.javaagent"
@@ -26,3 +27,12 @@ dependencies {
 configurations.testRuntimeClasspath {
   exclude(group = "net.bytebuddy", module = "byte-buddy-dep")
 }
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      enabled.set(false)
+    }
+  }
+}
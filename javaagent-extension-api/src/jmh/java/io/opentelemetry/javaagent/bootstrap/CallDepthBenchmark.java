@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.bytebuddy.ByteBuddy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs one simulated instrumented JDBC call on each of a million threads, like a server handling
+ * every request on its own virtual thread does. Every thread starts without any call depth state.
+ * Run with {@code -prof gc} to see the allocations per thread. Virtual threads are used when the
+ * benchmark runs on Java 21 or later, otherwise every call gets a new platform thread.
+ *
+ * <p>The agent tracks the call depth of many classes, so the JDBC classes can get high ordinals.
+ * The {@code otherClasses} parameter is the number of classes that get their ordinals first. The
+ * bundled instrumentations track the call depth of about 40 classes, plus the executor and handler
+ * implementations of the application.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class CallDepthBenchmark {
+
+  private static final int THREADS = 1_000_000;
+
+  @Param({"0", "64"})
+  public int otherClasses;
+
+  private Executor executor;
+
+  @Setup
+  public void setUp() {
+    ClassLoader classLoader = CallDepthBenchmark.class.getClassLoader();
+    for (int i = 0; i < otherClasses; i++) {
+      Class<?> type =
+          new ByteBuddy()
+              .subclass(Object.class)
+              .name(CallDepthBenchmark.class.getName() + "$Other" + i)
+              .make()
+              .load(classLoader)
+              .getLoaded();
+      CallDepth.forClass(type);
+    }
+    executor = newThreadPerTaskExecutor();
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (executor instanceof ExecutorService) {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(THREADS)
+  public void jdbcCallPerThread() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(THREADS);
+    Runnable task =
+        () -> {
+          executeQuery();
+          latch.countDown();
+        };
+    for (int i = 0; i < THREADS; i++) {
+      executor.execute(task);
+    }
+    latch.await();
+  }
+
+  // what the advice of a statement wrapped by a connection pool does: the pool's statement
+  // delegates to the driver's statement, only the outermost call is traced
+  private static void executeQuery() {
+    CallDepth connectionDepth = CallDepth.forClass(Connection.class);
+    connectionDepth.getAndIncrement();
+    CallDepth outer = CallDepth.forClass(Statement.class);
+    if (outer.getAndIncrement() == 0) {
+      CallDepth inner = CallDepth.forClass(Statement.class);
+      inner.getAndIncrement();
+      inner.decrementAndGet();
+    }
+    outer.decrementAndGet();
+    connectionDepth.decrementAndGet();
+  }
+
+  private static Executor newThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService)
+          MethodHandles.publicLookup()
+              .findStatic(
+                  Executors.class,
+                  "newVirtualThreadPerTaskExecutor",
+                  MethodType.methodType(ExecutorService.class))
+              .invoke();
+    } catch (Throwable t) {
+      // before java 21, a new platform thread for every call
+      return runnable -> new Thread(runnable).start();
+    }
+  }
+}
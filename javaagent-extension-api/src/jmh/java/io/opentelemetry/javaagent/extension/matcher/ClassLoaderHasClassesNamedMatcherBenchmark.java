@@ -0,0 +1,74 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulates parallel class loading: every thread matches the class loader matchers of all the
+ * instrumentation modules for every class it loads, like the agent does for each loaded type.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ClassLoaderHasClassesNamedMatcherBenchmark {
+
+  private static final int MODULES = 300;
+  private static final int CLASS_LOADERS = 4;
+
+  private final List<ElementMatcher<ClassLoader>> matchers = new ArrayList<>();
+  private final ClassLoader[] classLoaders = new ClassLoader[CLASS_LOADERS];
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < MODULES; i++) {
+      // most modules don't match, some look for a class that is present and share it
+      String className = i % 10 == 0 ? "java.lang.String" : "com.example.library" + i + ".Client";
+      matchers.add(AgentElementMatchers.hasClassesNamed(className, "com.example.Common"));
+    }
+    for (int i = 0; i < CLASS_LOADERS; i++) {
+      classLoaders[i] = new ClassLoader(getClass().getClassLoader()) {};
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private int next = ThreadLocalRandom.current().nextInt(CLASS_LOADERS);
+
+    int nextClassLoader() {
+      return next++ % CLASS_LOADERS;
+    }
+  }
+
+  @Benchmark
+  public void loadClass(ThreadState threadState, Blackhole blackhole) {
+    ClassLoader classLoader = classLoaders[threadState.nextClassLoader()];
+    for (ElementMatcher<ClassLoader> matcher : matchers) {
+      blackhole.consume(matcher.matches(classLoader));
+    }
+  }
+}
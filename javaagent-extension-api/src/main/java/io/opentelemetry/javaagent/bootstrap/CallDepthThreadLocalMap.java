@@ -5,18 +5,94 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the {@link CallDepth}s of a thread in a single array, indexed by an ordinal assigned to
+ * each class on first use. This way a thread only has one thread local entry regardless of how many
+ * classes track their call depth, and a {@link CallDepth} is only allocated for the classes the
+ * thread actually uses, which matters when there are many short-lived (e.g. virtual) threads.
+ *
+ * <p>Ordinals are never reused. Besides instrumentation classes, {@link CallDepth#forClass(Class)}
+ * is also called with application classes (e.g. executor and netty handler classes), so only the
+ * first {@link #MAX_INDEXED_CLASSES} classes get an ordinal, the call depths of the other classes
+ * are kept in a thread local per class. This keeps the array of a thread bounded no matter how many
+ * classes are loaded over the lifetime of the process.
+ */
 final class CallDepthThreadLocalMap {
 
-  private static final ClassValue<ThreadLocalDepth> TLS =
-      new ClassValue<ThreadLocalDepth>() {
+  private static final int INITIAL_SIZE = 16;
+
+  // visible for testing
+  static final int MAX_INDEXED_CLASSES = 256;
+
+  private static final AtomicInteger nextIndex = new AtomicInteger();
+
+  private static final ClassValue<Slot> SLOTS =
+      new ClassValue<Slot>() {
         @Override
-        protected ThreadLocalDepth computeValue(Class<?> type) {
-          return new ThreadLocalDepth();
+        protected Slot computeValue(Class<?> type) {
+          if (nextIndex.get() < MAX_INDEXED_CLASSES) {
+            int index = nextIndex.getAndIncrement();
+            if (index < MAX_INDEXED_CLASSES) {
+              return new Slot(index, null);
+            }
+          }
+          return new Slot(-1, new ThreadLocalDepth());
+        }
+      };
+
+  private static final ThreadLocal<CallDepth[]> TLS =
+      new ThreadLocal<CallDepth[]>() {
+        @Override
+        protected CallDepth[] initialValue() {
+          // grown on demand, most threads only use the call depths of a few classes
+          return new CallDepth[INITIAL_SIZE];
         }
       };
 
   static CallDepth getCallDepth(Class<?> k) {
-    return TLS.get(k).get();
+    Slot slot = SLOTS.get(k);
+    if (slot.threadLocalDepth != null) {
+      return slot.threadLocalDepth.get();
+    }
+    int index = slot.index;
+    CallDepth[] callDepths = TLS.get();
+    if (index < callDepths.length) {
+      CallDepth callDepth = callDepths[index];
+      if (callDepth != null) {
+        return callDepth;
+      }
+    }
+    return createCallDepth(callDepths, index);
+  }
+
+  private static CallDepth createCallDepth(CallDepth[] callDepths, int index) {
+    if (index >= callDepths.length) {
+      int length = Math.min(Math.max(index + 1, callDepths.length * 2), MAX_INDEXED_CLASSES);
+      callDepths = Arrays.copyOf(callDepths, length);
+      TLS.set(callDepths);
+    }
+    CallDepth callDepth = new CallDepth();
+    callDepths[index] = callDepth;
+    return callDepth;
+  }
+
+  // visible for testing
+  static int indexedCallDepthsLength() {
+    return TLS.get().length;
+  }
+
+  private static final class Slot {
+    private final int index;
+    // only set for the classes that did not get an ordinal
+    private final ThreadLocalDepth threadLocalDepth;
+
+    private Slot(int index, ThreadLocalDepth threadLocalDepth) {
+      this.index = index;
+      this.threadLocalDepth = threadLocalDepth;
+    }
   }
 
   private static final class ThreadLocalDepth extends ThreadLocal<CallDepth> {
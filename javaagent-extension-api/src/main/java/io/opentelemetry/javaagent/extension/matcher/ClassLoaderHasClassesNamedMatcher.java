@@ -8,26 +8,28 @@ package io.opentelemetry.javaagent.extension.matcher;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
 import io.opentelemetry.javaagent.bootstrap.internal.InClassLoaderMatcher;
-import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLongArray;
 import net.bytebuddy.matcher.ElementMatcher;
 
 class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.AbstractBase<ClassLoader> {
   // caching is disabled for build time muzzle checks
   // this field is set via reflection from ClassLoaderMatcher
   static boolean useCache = true;
-  private static final AtomicInteger counter = new AtomicInteger();
 
   private final String[] resources;
-  // each matcher gets a unique index that is used for caching the matching status
-  private final int index = counter.getAndIncrement();
+  // each distinct resource gets a unique index that is used for caching whether the resource is
+  // present, matchers looking for the same class share the cached status
+  private final int[] indexes;
 
   ClassLoaderHasClassesNamedMatcher(String... classNames) {
     resources = classNames;
+    indexes = new int[resources.length];
     for (int i = 0; i < resources.length; i++) {
       resources[i] = resources[i].replace(".", "/") + ".class";
+      indexes[i] = Manager.indexOf(resources[i]);
     }
   }
 
@@ -59,49 +61,136 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
   }
 
   private static class Manager {
+    private static final ConcurrentMap<String, Integer> resourceIndexes = new ConcurrentHashMap<>();
+    private static final AtomicInteger counter = new AtomicInteger();
     static final Manager INSTANCE = new Manager();
-    // each matcher gets a two bits in BitSet, that first bit indicates whether current matcher has
-    // been run for given class loader and the second whether it matched or not
-    private final Cache<ClassLoader, BitSet> enabled = Cache.weak();
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+
+    private final Cache<ClassLoader, ResourceStates> states = Cache.weak();
 
     Manager() {
-      ClassLoaderMatcherCacheHolder.addCache(enabled);
+      ClassLoaderMatcherCacheHolder.addCache(states);
+    }
+
+    static int indexOf(String resource) {
+      return resourceIndexes.computeIfAbsent(resource, unused -> counter.getAndIncrement());
     }
 
     boolean match(ClassLoaderHasClassesNamedMatcher matcher, ClassLoader cl) {
-      BitSet set = enabled.computeIfAbsent(cl, (unused) -> new BitSet(counter.get() * 2));
-      int matcherRunBit = 2 * matcher.index;
-      int matchedBit = matcherRunBit + 1;
-      readLock.lock();
+      ResourceStates set = states.computeIfAbsent(cl, unused -> new ResourceStates(counter.get()));
+      // fast path, all the resources were already looked up
+      boolean complete = true;
+      for (int index : matcher.indexes) {
+        int state = set.get(index);
+        if (state == ResourceStates.MISSING) {
+          return false;
+        }
+        if (state == ResourceStates.UNKNOWN) {
+          complete = false;
+        }
+      }
+      if (complete) {
+        return true;
+      }
+      return lookUp(matcher, cl, set);
+    }
+
+    // looks up all the unknown resources of the matcher in a single pass, stopping at the first
+    // missing one like the uncached lookup
+    private static boolean lookUp(
+        ClassLoaderHasClassesNamedMatcher matcher, ClassLoader cl, ResourceStates set) {
+      boolean priorValue = InClassLoaderMatcher.getAndSet(true);
       try {
-        if (!set.get(matcherRunBit)) {
-          // read lock needs to be released before upgrading to write lock
-          readLock.unlock();
-          // we do the resource presence check outside the lock to keep the time we need to hold
-          // the write lock minimal
-          boolean matches = hasResources(cl, matcher.resources);
-          writeLock.lock();
-          try {
-            if (!set.get(matcherRunBit)) {
-              if (matches) {
-                set.set(matchedBit);
-              }
-              set.set(matcherRunBit);
-            }
-          } finally {
-            // downgrading the write lock to the read lock
-            readLock.lock();
-            writeLock.unlock();
+        for (int i = 0; i < matcher.resources.length; i++) {
+          int state = set.get(matcher.indexes[i]);
+          if (state == ResourceStates.UNKNOWN) {
+            boolean present = cl.getResource(matcher.resources[i]) != null;
+            int found = present ? ResourceStates.PRESENT : ResourceStates.MISSING;
+            state = set.setIfUnknown(matcher.indexes[i], found);
+          }
+          if (state == ResourceStates.MISSING) {
+            return false;
           }
         }
-
-        return set.get(matchedBit);
       } finally {
-        readLock.unlock();
+        InClassLoaderMatcher.set(priorValue);
       }
+      return true;
+    }
+  }
+
+  /**
+   * The lookup status of all the resources for one class loader, two bits per resource packed into
+   * an {@link AtomicLongArray}. Updates use compare-and-set, so that class loading threads never
+   * block each other.
+   */
+  private static final class ResourceStates {
+    static final int UNKNOWN = 0;
+    static final int MISSING = 1;
+    static final int PRESENT = 2;
+
+    private static final int STATES_PER_WORD = Long.SIZE / 2;
+
+    private volatile AtomicLongArray words;
+
+    ResourceStates(int size) {
+      words = new AtomicLongArray(wordCount(size));
+    }
+
+    private static int wordCount(int size) {
+      return Math.max(1, (size + STATES_PER_WORD - 1) / STATES_PER_WORD);
+    }
+
+    int get(int index) {
+      AtomicLongArray current = words;
+      int word = index / STATES_PER_WORD;
+      if (word >= current.length()) {
+        return UNKNOWN;
+      }
+      return (int) (current.get(word) >>> shift(index)) & 3;
+    }
+
+    /**
+     * Stores the state of the resource unless another thread has already done that.
+     *
+     * @return the stored state
+     */
+    int setIfUnknown(int index, int state) {
+      int word = index / STATES_PER_WORD;
+      int shift = shift(index);
+      AtomicLongArray current = words;
+      if (word >= current.length()) {
+        current = grow(word);
+      }
+      while (true) {
+        long previous = current.get(word);
+        int previousState = (int) (previous >>> shift) & 3;
+        if (previousState != UNKNOWN) {
+          return previousState;
+        }
+        if (current.compareAndSet(word, previous, previous | ((long) state << shift))) {
+          return state;
+        }
+      }
+    }
+
+    // only happens when matchers are created after this class loader was first matched, a state
+    // stored into the old array while it's copied is lost and the resource is just looked up again
+    private synchronized AtomicLongArray grow(int word) {
+      AtomicLongArray current = words;
+      if (word < current.length()) {
+        return current;
+      }
+      AtomicLongArray grown =
+          new AtomicLongArray(Math.max(word + 1, wordCount(Manager.counter.get())));
+      for (int i = 0; i < current.length(); i++) {
+        grown.set(i, current.get(i));
+      }
+      words = grown;
+      return grown;
+    }
+
+    private static int shift(int index) {
+      return (index % STATES_PER_WORD) * 2;
     }
   }
 }
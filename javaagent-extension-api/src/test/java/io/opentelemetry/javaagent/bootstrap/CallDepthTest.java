@@ -7,6 +7,9 @@ package io.opentelemetry.javaagent.bootstrap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 
 class CallDepthTest {
@@ -28,4 +31,73 @@ class CallDepthTest {
     assertThat(CallDepth.forClass(Double.class).getAndIncrement()).isZero();
     assertThat(CallDepth.forClass(Double.class).decrementAndGet()).isZero();
   }
+
+  @Test
+  void manyClasses() {
+    // more classes than fit in the initial array of a thread
+    Class<?>[] classes = new Class<?>[100];
+    Class<?> cls = Object.class;
+    for (int i = 0; i < classes.length; i++) {
+      cls = Array.newInstance(cls, 0).getClass();
+      classes[i] = cls;
+    }
+    for (Class<?> c : classes) {
+      assertThat(CallDepth.forClass(c).getAndIncrement()).isZero();
+    }
+    for (Class<?> c : classes) {
+      assertThat(CallDepth.forClass(c).getAndIncrement()).isOne();
+      assertThat(CallDepth.forClass(c).decrementAndGet()).isOne();
+      assertThat(CallDepth.forClass(c).decrementAndGet()).isZero();
+    }
+  }
+
+  @Test
+  void moreClassesThanIndexed() throws InterruptedException {
+    // array classes of up to 200 dimensions of a few component types
+    Class<?>[] componentTypes = {Byte.class, Short.class, Character.class};
+    Class<?>[] classes = new Class<?>[componentTypes.length * 200];
+    for (int i = 0; i < componentTypes.length; i++) {
+      Class<?> cls = componentTypes[i];
+      for (int j = 0; j < 200; j++) {
+        cls = Array.newInstance(cls, 0).getClass();
+        classes[i * 200 + j] = cls;
+      }
+    }
+    assertThat(classes.length).isGreaterThan(CallDepthThreadLocalMap.MAX_INDEXED_CLASSES);
+
+    Thread thread =
+        new Thread(
+            () -> {
+              for (Class<?> c : classes) {
+                assertThat(CallDepth.forClass(c).getAndIncrement()).isZero();
+              }
+              for (Class<?> c : classes) {
+                assertThat(CallDepth.forClass(c).getAndIncrement()).isOne();
+                assertThat(CallDepth.forClass(c).decrementAndGet()).isOne();
+                assertThat(CallDepth.forClass(c).decrementAndGet()).isZero();
+              }
+              assertThat(CallDepthThreadLocalMap.indexedCallDepthsLength())
+                  .isLessThanOrEqualTo(CallDepthThreadLocalMap.MAX_INDEXED_CLASSES);
+            });
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+    thread.start();
+    thread.join();
+
+    assertThat(failure).hasValue(null);
+  }
+
+  @Test
+  void perThread() throws InterruptedException {
+    assertThat(CallDepth.forClass(Long.class).getAndIncrement()).isZero();
+
+    AtomicInteger otherThreadDepth = new AtomicInteger(-1);
+    Thread thread =
+        new Thread(() -> otherThreadDepth.set(CallDepth.forClass(Long.class).getAndIncrement()));
+    thread.start();
+    thread.join();
+
+    assertThat(otherThreadDepth).hasValue(0);
+    assertThat(CallDepth.forClass(Long.class).decrementAndGet()).isZero();
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class ClassLoaderHasClassesNamedMatcherTest {
+
+  @Test
+  void matchesPresentClasses() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+
+    assertThat(AgentElementMatchers.hasClassesNamed("java.lang.String").matches(classLoader))
+        .isTrue();
+    assertThat(
+            AgentElementMatchers.hasClassesNamed("java.lang.String", "com.example.Missing")
+                .matches(classLoader))
+        .isFalse();
+    assertThat(AgentElementMatchers.hasClassesNamed("java.lang.String").matches(null)).isFalse();
+  }
+
+  @Test
+  void sharesLookupsBetweenMatchers() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+    ElementMatcher<ClassLoader> first =
+        AgentElementMatchers.hasClassesNamed("java.lang.Integer", "com.example.First");
+    ElementMatcher<ClassLoader> second =
+        AgentElementMatchers.hasClassesNamed("java.lang.Integer", "java.lang.Long");
+
+    assertThat(first.matches(classLoader)).isFalse();
+    assertThat(second.matches(classLoader)).isTrue();
+    assertThat(first.matches(classLoader)).isFalse();
+    assertThat(second.matches(classLoader)).isTrue();
+
+    assertThat(classLoader.lookups("java/lang/Integer.class")).isEqualTo(1);
+    assertThat(classLoader.lookups("com/example/First.class")).isEqualTo(1);
+    assertThat(classLoader.lookups("java/lang/Long.class")).isEqualTo(1);
+  }
+
+  @Test
+  void matchersCreatedAfterFirstMatch() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+    assertThat(AgentElementMatchers.hasClassesNamed("java.lang.Short").matches(classLoader))
+        .isTrue();
+
+    // enough new resources to need more space than allocated for the class loader
+    List<ElementMatcher<ClassLoader>> matchers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      matchers.add(AgentElementMatchers.hasClassesNamed("com.example.Late" + i));
+    }
+    matchers.add(AgentElementMatchers.hasClassesNamed("java.lang.Byte"));
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(matchers.get(i).matches(classLoader)).isFalse();
+      assertThat(matchers.get(i).matches(classLoader)).isFalse();
+    }
+    assertThat(matchers.get(100).matches(classLoader)).isTrue();
+    assertThat(matchers.get(100).matches(classLoader)).isTrue();
+    assertThat(classLoader.lookups("com/example/Late42.class")).isEqualTo(1);
+    assertThat(classLoader.lookups("java/lang/Byte.class")).isEqualTo(1);
+  }
+
+  @Test
+  void invalidate() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+    ElementMatcher<ClassLoader> matcher =
+        AgentElementMatchers.hasClassesNamed("java.lang.Character");
+
+    assertThat(matcher.matches(classLoader)).isTrue();
+    ClassLoaderMatcherCacheHolder.invalidateAllCachesForClassLoader(classLoader);
+    assertThat(matcher.matches(classLoader)).isTrue();
+
+    assertThat(classLoader.lookups("java/lang/Character.class")).isEqualTo(2);
+  }
+
+  private static class CountingClassLoader extends ClassLoader {
+    private final ConcurrentHashMap<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+
+    CountingClassLoader() {
+      super(ClassLoaderHasClassesNamedMatcherTest.class.getClassLoader());
+    }
+
+    @Override
+    public URL getResource(String name) {
+      lookups.computeIfAbsent(name, unused -> new AtomicInteger()).incrementAndGet();
+      return super.getResource(name);
+    }
+
+    int lookups(String name) {
+      AtomicInteger count = lookups.get(name);
+      return count == null ? 0 : count.get();
+    }
+  }
+}
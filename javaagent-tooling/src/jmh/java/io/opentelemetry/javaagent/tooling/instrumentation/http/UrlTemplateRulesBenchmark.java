@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation.http;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.javaagent.tooling.instrumentation.http.UrlTemplateRules.Rule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class UrlTemplateRulesBenchmark {
+
+  private static final int UNIQUE_URL_COUNT = 10_000;
+
+  @Param({"1", "10", "50", "150"})
+  int ruleCount;
+
+  private List<Rule> rules;
+  private UrlTemplateRuleIndex index;
+  private String[] matchingUrls;
+  private String[] notMatchingUrls;
+  private int counter;
+
+  @Setup
+  public void setup() {
+    rules = new ArrayList<>();
+    for (int i = 0; i < ruleCount; i++) {
+      rules.add(
+          new Rule(
+              Pattern.compile("^https://service" + i + "\\.example\\.com/api/v1/items/[0-9]+$"),
+              "/api/v1/items/{id}",
+              false));
+    }
+    index = UrlTemplateRuleIndex.create(rules);
+
+    matchingUrls = new String[UNIQUE_URL_COUNT];
+    notMatchingUrls = new String[UNIQUE_URL_COUNT];
+    for (int i = 0; i < UNIQUE_URL_COUNT; i++) {
+      matchingUrls[i] = "https://service" + (ruleCount - 1) + ".example.com/api/v1/items/" + i;
+      notMatchingUrls[i] = "https://unknown.example.com/api/v1/items/" + i;
+    }
+  }
+
+  @Benchmark
+  public String linearMatching() {
+    return linear(nextUrl(matchingUrls));
+  }
+
+  @Benchmark
+  public String linearNotMatching() {
+    return linear(nextUrl(notMatchingUrls));
+  }
+
+  @Benchmark
+  public String indexedMatching() {
+    return index.apply(nextUrl(matchingUrls), false);
+  }
+
+  @Benchmark
+  public String indexedNotMatching() {
+    return index.apply(nextUrl(notMatchingUrls), false);
+  }
+
+  private String nextUrl(String[] urls) {
+    return urls[counter++ % UNIQUE_URL_COUNT];
+  }
+
+  // the implementation used before rules were indexed
+  private String linear(String url) {
+    for (Rule rule : rules) {
+      String result = rule.getPattern().matcher(url).replaceFirst(rule.getReplacement());
+      if (!url.equals(result)) {
+        return result;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.extendsClass;
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matches a synthetic workload of 50k classes against the type matchers of 400 type
+ * instrumentations, either testing every matcher for every class or only the matchers selected by
+ * the {@link TransformationIndex}. The results are reported per class.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class TransformationIndexBenchmark {
+
+  private static final int CLASSES = 50_000;
+  private static final int LIBRARIES = 100;
+
+  private final List<ElementMatcher<TypeDescription>> matchers = new ArrayList<>();
+  private TransformationIndex<ElementMatcher<TypeDescription>> index;
+  private final TypeDescription[] types = new TypeDescription[CLASSES];
+  private final List<Set<String>> superTypeNames = new ArrayList<>(CLASSES);
+
+  @Setup
+  public void setUp() throws Exception {
+    for (int i = 0; i < LIBRARIES; i++) {
+      String prefix = "com.example.library" + i + ".";
+      matchers.add(named(prefix + "Client"));
+      matchers.add(namedOneOf(prefix + "Server", prefix + "AsyncServer"));
+      matchers.add(implementsInterface(named(prefix + "Handler")));
+      matchers.add(extendsClass(named(prefix + "AbstractFilter")));
+    }
+    // a few matchers that can't be indexed
+    for (int i = 0; i < 10; i++) {
+      matchers.add(isAnnotatedWith(named("com.example.Annotation" + i)));
+    }
+    matchers.add(nameStartsWith("com.example.library1.internal."));
+
+    TransformationIndex.Builder<ElementMatcher<TypeDescription>> builder =
+        TransformationIndex.builder();
+    for (ElementMatcher<TypeDescription> matcher : matchers) {
+      builder.add(matcher, AgentBuilderUtil.inspect(matcher));
+    }
+    index = builder.build();
+
+    TypeDescription.Generic object =
+        TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class);
+    for (int i = 0; i < CLASSES; i++) {
+      // twice as many libraries as instrumented ones
+      String prefix = "com.example.library" + (i % (2 * LIBRARIES)) + ".";
+      Set<String> superNames = new HashSet<>();
+      superNames.add(Object.class.getName());
+      TypeDescription type;
+      if (i % 100 == 0) {
+        type = new TypeDescription.Latent(prefix + "Client", 0, object);
+      } else if (i % 100 == 1) {
+        String handler = prefix + "Handler";
+        superNames.add(handler);
+        type =
+            new TypeDescription.Latent(
+                prefix + "HandlerImpl" + i,
+                0,
+                object,
+                new TypeDescription.Latent(handler, 0, null).asGenericType());
+      } else {
+        type = new TypeDescription.Latent(prefix + "Class" + i, 0, object);
+      }
+      types[i] = type;
+      superTypeNames.add(superNames);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CLASSES)
+  public void withoutIndex(Blackhole blackhole) {
+    for (TypeDescription type : types) {
+      for (ElementMatcher<TypeDescription> matcher : matchers) {
+        blackhole.consume(matcher.matches(type));
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CLASSES)
+  public void withIndex(Blackhole blackhole) {
+    for (int i = 0; i < CLASSES; i++) {
+      TypeDescription type = types[i];
+      for (ElementMatcher<TypeDescription> matcher :
+          index.select(type.getName(), superTypeNames.get(i))) {
+        blackhole.consume(matcher.matches(type));
+      }
+    }
+  }
+}
@@ -14,44 +14,55 @@ import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.AgentExtension;
 import io.opentelemetry.javaagent.tooling.Utils;
+import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 
 @AutoService(AgentExtension.class)
 public class InstrumentationLoader implements AgentExtension {
   private static final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
 
+  private static final String PARALLEL_INSTALL_PROPERTY =
+      "otel.javaagent.experimental.parallel-instrumentation-install.enabled";
+
   private final InstrumentationModuleInstaller instrumentationModuleInstaller =
       new InstrumentationModuleInstaller(InstrumentationHolder.getInstrumentation());
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    List<InstrumentationModule> instrumentationModules =
+        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader());
+    int threads = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    if (threads > 1 && EarlyInitAgentConfig.get().getBoolean(PARALLEL_INSTALL_PROPERTY, false)) {
+      return extendInParallel(agentBuilder, config, instrumentationModules, threads);
+    }
+    return extendSerially(agentBuilder, config, instrumentationModules);
+  }
+
+  // visible for testing
+  AgentBuilder extendSerially(
+      AgentBuilder agentBuilder,
+      ConfigProperties config,
+      List<InstrumentationModule> instrumentationModules) {
     int numberOfLoadedModules = 0;
-    for (InstrumentationModule instrumentationModule :
-        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader())) {
-      if (logger.isLoggable(FINE)) {
-        logger.log(
-            FINE,
-            "Loading instrumentation {0} [class {1}]",
-            new Object[] {
-              instrumentationModule.instrumentationName(),
-              instrumentationModule.getClass().getName()
-            });
-      }
+    for (InstrumentationModule instrumentationModule : instrumentationModules) {
+      logLoading(instrumentationModule);
       try {
         agentBuilder =
             instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
-        logger.log(
-            SEVERE,
-            "Unable to load instrumentation "
-                + instrumentationModule.instrumentationName()
-                + " [class "
-                + instrumentationModule.getClass().getName()
-                + "]",
-            e);
+        logLoadingFailure(instrumentationModule, e);
       }
     }
     logger.log(FINE, "Installed {0} instrumentation(s)", numberOfLoadedModules);
@@ -59,6 +70,122 @@ public class InstrumentationLoader implements AgentExtension {
     return agentBuilder;
   }
 
+  /**
+   * Prepares the instrumentation modules concurrently, which loads their classes and builds their
+   * matchers and virtual field implementations. The prepared modules are added to the agent builder
+   * sequentially, in the same order as when they are installed serially, so that the {@link
+   * InstrumentationModule#order()} of the modules is still respected.
+   *
+   * <p>Only the modules that are bundled with the agent are prepared concurrently. Modules from
+   * extensions are not required to be thread safe, so they are prepared on the calling thread, in
+   * turn, right before they are installed.
+   */
+  // visible for testing
+  AgentBuilder extendInParallel(
+      AgentBuilder agentBuilder,
+      ConfigProperties config,
+      List<InstrumentationModule> instrumentationModules,
+      int threads) {
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    AtomicInteger threadNumber = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable,
+                      "otel-javaagent-instrumentation-install-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              thread.setContextClassLoader(contextClassLoader);
+              return thread;
+            });
+    try {
+      ClassLoader agentClassLoader = InstrumentationLoader.class.getClassLoader();
+      List<Future<PreparedModule>> preparedModules = new ArrayList<>();
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        if (instrumentationModule.getClass().getClassLoader() == agentClassLoader) {
+          preparedModules.add(
+              executor.submit(
+                  () -> {
+                    logLoading(instrumentationModule);
+                    return instrumentationModuleInstaller.prepare(instrumentationModule, config);
+                  }));
+        } else {
+          preparedModules.add(null);
+        }
+      }
+
+      int numberOfLoadedModules = 0;
+      for (int i = 0; i < instrumentationModules.size(); i++) {
+        InstrumentationModule instrumentationModule = instrumentationModules.get(i);
+        try {
+          Future<PreparedModule> future = preparedModules.get(i);
+          PreparedModule preparedModule;
+          if (future != null) {
+            preparedModule = getPreparedModule(future);
+          } else {
+            logLoading(instrumentationModule);
+            preparedModule = instrumentationModuleInstaller.prepare(instrumentationModule, config);
+          }
+          if (preparedModule != null) {
+            agentBuilder = instrumentationModuleInstaller.install(preparedModule, agentBuilder);
+          }
+          numberOfLoadedModules++;
+        } catch (Exception | LinkageError e) {
+          logLoadingFailure(instrumentationModule, e);
+        }
+      }
+      logger.log(
+          FINE,
+          "Installed {0} instrumentation(s) using {1} threads",
+          new Object[] {numberOfLoadedModules, threads});
+    } finally {
+      executor.shutdown();
+    }
+
+    return agentBuilder;
+  }
+
+  @Nullable
+  private static PreparedModule getPreparedModule(Future<PreparedModule> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      // rethrow errors as they are, like when the module is prepared on the calling thread
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  private static void logLoading(InstrumentationModule instrumentationModule) {
+    if (logger.isLoggable(FINE)) {
+      logger.log(
+          FINE,
+          "Loading instrumentation {0} [class {1}]",
+          new Object[] {
+            instrumentationModule.instrumentationName(), instrumentationModule.getClass().getName()
+          });
+    }
+  }
+
+  private static void logLoadingFailure(InstrumentationModule instrumentationModule, Throwable e) {
+    logger.log(
+        SEVERE,
+        "Unable to load instrumentation "
+            + instrumentationModule.instrumentationName()
+            + " [class "
+            + instrumentationModule.getClass().getName()
+            + "]",
+        e);
+  }
+
   @Override
   public String extensionName() {
     return "instrumentation-loader";
@@ -40,6 +40,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
@@ -64,29 +65,37 @@ public final class InstrumentationModuleInstaller {
     this.instrumentation = instrumentation;
   }
 
-  // Need to call deprecated API for backward compatibility with modules that haven't migrated
-  @SuppressWarnings("deprecation")
   AgentBuilder install(
       InstrumentationModule instrumentationModule,
       AgentBuilder parentAgentBuilder,
       ConfigProperties config) {
+    PreparedModule preparedModule = prepare(instrumentationModule, config);
+    if (preparedModule == null) {
+      return parentAgentBuilder;
+    }
+    return install(preparedModule, parentAgentBuilder);
+  }
+
+  /**
+   * Computes everything that is needed to install the instrumentation module, but doesn't depend on
+   * the agent builder: the type and class loader matchers, the helper classes and the virtual field
+   * implementations. Unlike {@link #install(PreparedModule, AgentBuilder)}, this method can be
+   * called concurrently for different modules.
+   *
+   * @return {@code null} if the module is disabled or doesn't instrument any types
+   */
+  // Need to call deprecated API for backward compatibility with modules that haven't migrated
+  @SuppressWarnings("deprecation")
+  @Nullable
+  PreparedModule prepare(InstrumentationModule instrumentationModule, ConfigProperties config) {
     if (!isInstrumentationEnabled(
         instrumentationModule.instrumentationNames(),
         instrumentationModule.defaultEnabled(config))) {
       logger.log(
           FINE, "Instrumentation {0} is disabled", instrumentationModule.instrumentationName());
-      return parentAgentBuilder;
-    }
-
-    if (instrumentationModule.isIndyModule()) {
-      return installIndyModule(instrumentationModule, parentAgentBuilder);
-    } else {
-      return installInjectingModule(instrumentationModule, parentAgentBuilder);
+      return null;
     }
-  }
 
-  private AgentBuilder installIndyModule(
-      InstrumentationModule instrumentationModule, AgentBuilder parentAgentBuilder) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -100,9 +109,32 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
+    }
+
+    List<TypeMatchers> typeMatchers = new ArrayList<>(typeInstrumentations.size());
+    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+      typeMatchers.add(new TypeMatchers(instrumentationModule, typeInstrumentation));
+    }
+    return new PreparedModule(
+        instrumentationModule,
+        helperClassNames,
+        helperResourceBuilder,
+        typeMatchers,
+        virtualFieldInstallerFactory.create(instrumentationModule));
+  }
+
+  AgentBuilder install(PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    if (preparedModule.instrumentationModule.isIndyModule()) {
+      return installIndyModule(preparedModule, parentAgentBuilder);
+    } else {
+      return installInjectingModule(preparedModule, parentAgentBuilder);
     }
+  }
 
+  private AgentBuilder installIndyModule(
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    InstrumentationModule instrumentationModule = preparedModule.instrumentationModule;
     List<String> injectedHelperClassNames;
     if (instrumentationModule instanceof ExperimentalInstrumentationModule) {
       ExperimentalInstrumentationModule experimentalInstrumentationModule =
@@ -138,17 +170,16 @@ public final class InstrumentationModuleInstaller {
         new HelperInjector(
             instrumentationModule.instrumentationName(),
             helperGenerator,
-            helperResourceBuilder.getResources(),
+            preparedModule.helperResourceBuilder.getResources(),
             instrumentationModule.getClass().getClassLoader(),
             instrumentation);
 
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
 
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : instrumentationModule.typeInstrumentations()) {
+    for (TypeMatchers typeMatchers : preparedModule.typeMatchers) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
+          setTypeMatcher(agentBuilder, typeMatchers)
               .and(muzzleMatcher)
               .transform(ConstantAdjuster.instance())
               .transform(new ForwardIndyAdviceTransformer(helperInjector));
@@ -160,7 +191,7 @@ public final class InstrumentationModuleInstaller {
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       IndyTypeTransformerImpl typeTransformer =
           new IndyTypeTransformerImpl(extendableAgentBuilder, instrumentationModule);
-      typeInstrumentation.transform(typeTransformer);
+      typeMatchers.typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
       extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
 
@@ -170,39 +201,23 @@ public final class InstrumentationModuleInstaller {
   }
 
   private AgentBuilder installInjectingModule(
-      InstrumentationModule instrumentationModule, AgentBuilder parentAgentBuilder) {
-    List<String> helperClassNames =
-        InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
-    HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
-    instrumentationModule.registerHelperResources(helperResourceBuilder);
-    List<TypeInstrumentation> typeInstrumentations = instrumentationModule.typeInstrumentations();
-    if (typeInstrumentations.isEmpty()) {
-      if (!helperClassNames.isEmpty() || !helperResourceBuilder.getResources().isEmpty()) {
-        logger.log(
-            WARNING,
-            "Helper classes and resources won't be injected if no types are instrumented: {0}",
-            instrumentationModule.instrumentationName());
-      }
-
-      return parentAgentBuilder;
-    }
-
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    InstrumentationModule instrumentationModule = preparedModule.instrumentationModule;
     MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule);
     AgentBuilder.Transformer helperInjector =
         new HelperInjector(
             instrumentationModule.instrumentationName(),
-            helperClassNames,
-            helperResourceBuilder.getResources(),
+            preparedModule.helperClassNames,
+            preparedModule.helperResourceBuilder.getResources(),
             Utils.getExtensionsClassLoader(),
             instrumentation);
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
 
     AtomicBoolean openerRun = new AtomicBoolean();
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+    for (TypeMatchers typeMatchers : preparedModule.typeMatchers) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
+          setTypeMatcher(agentBuilder, typeMatchers)
               .and(muzzleMatcher)
               .transform(ConstantAdjuster.instance())
               .transform(
@@ -228,7 +243,7 @@ public final class InstrumentationModuleInstaller {
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
       TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
-      typeInstrumentation.transform(typeTransformer);
+      typeMatchers.typeInstrumentation.transform(typeTransformer);
       extendableAgentBuilder = typeTransformer.getAgentBuilder();
       extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
 
@@ -253,35 +268,68 @@ public final class InstrumentationModuleInstaller {
   }
 
   private static AgentBuilder.Identified.Narrowable setTypeMatcher(
-      AgentBuilder agentBuilder,
-      InstrumentationModule instrumentationModule,
-      TypeInstrumentation typeInstrumentation) {
-
-    ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
-        instrumentationModule.classLoaderMatcher();
-
-    ElementMatcher<TypeDescription> typeMatcher =
-        new NamedMatcher<>(
-            instrumentationModule.getClass().getSimpleName()
-                + "#"
-                + typeInstrumentation.getClass().getSimpleName(),
-            new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher()));
-    ElementMatcher<ClassLoader> classLoaderMatcher =
-        new NamedMatcher<>(
-            instrumentationModule.getClass().getSimpleName()
-                + "#"
-                + typeInstrumentation.getClass().getSimpleName(),
-            moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
-
+      AgentBuilder agentBuilder, TypeMatchers typeMatchers) {
     return agentBuilder
-        .type(
-            new LoggingFailSafeMatcher<>(
-                typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher),
-            new LoggingFailSafeMatcher<>(
-                classLoaderMatcher,
-                "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher))
+        .type(typeMatchers.typeMatcher, typeMatchers.classLoaderMatcher)
         .and(
             (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
                 classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription));
   }
+
+  /** An instrumentation module that is ready to be added to the agent builder. */
+  static final class PreparedModule {
+    private final InstrumentationModule instrumentationModule;
+    private final List<String> helperClassNames;
+    private final HelperResourceBuilderImpl helperResourceBuilder;
+    private final List<TypeMatchers> typeMatchers;
+    private final VirtualFieldImplementationInstaller contextProvider;
+
+    private PreparedModule(
+        InstrumentationModule instrumentationModule,
+        List<String> helperClassNames,
+        HelperResourceBuilderImpl helperResourceBuilder,
+        List<TypeMatchers> typeMatchers,
+        VirtualFieldImplementationInstaller contextProvider) {
+      this.instrumentationModule = instrumentationModule;
+      this.helperClassNames = helperClassNames;
+      this.helperResourceBuilder = helperResourceBuilder;
+      this.typeMatchers = typeMatchers;
+      this.contextProvider = contextProvider;
+    }
+  }
+
+  private static final class TypeMatchers {
+    private final TypeInstrumentation typeInstrumentation;
+    private final ElementMatcher<TypeDescription> typeMatcher;
+    private final ElementMatcher<ClassLoader> classLoaderMatcher;
+
+    private TypeMatchers(
+        InstrumentationModule instrumentationModule, TypeInstrumentation typeInstrumentation) {
+      this.typeInstrumentation = typeInstrumentation;
+
+      ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
+          instrumentationModule.classLoaderMatcher();
+
+      ElementMatcher<TypeDescription> typeMatcher =
+          new NamedMatcher<>(
+              instrumentationModule.getClass().getSimpleName()
+                  + "#"
+                  + typeInstrumentation.getClass().getSimpleName(),
+              new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher()));
+      ElementMatcher<ClassLoader> classLoaderMatcher =
+          new NamedMatcher<>(
+              instrumentationModule.getClass().getSimpleName()
+                  + "#"
+                  + typeInstrumentation.getClass().getSimpleName(),
+              moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
+
+      this.typeMatcher =
+          new LoggingFailSafeMatcher<>(
+              typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher);
+      this.classLoaderMatcher =
+          new LoggingFailSafeMatcher<>(
+              classLoaderMatcher,
+              "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher);
+    }
+  }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.javaagent.tooling.Utils;
+import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * An opt-in persistent cache of muzzle verdicts, so that restarts of an unchanged deployment don't
+ * need to verify the muzzle references of every instrumentation module against every class loader
+ * again.
+ *
+ * <p>The verdicts of a class loader are stored in a file named after a fingerprint of the agent
+ * version, the JDK and the jars of the class loader and all its parents: their paths, sizes and
+ * modification times. Class loaders that can't be fingerprinted this way, e.g. because they load
+ * classes from directories or from memory, are not cached. The instrumentation modules are keyed by
+ * their class name, whether they use indy and the jar they were loaded from, which covers modules
+ * from extensions.
+ */
+final class MuzzleCache {
+
+  private static final Logger logger = Logger.getLogger(MuzzleCache.class.getName());
+
+  private static final String DIRECTORY_PROPERTY = "otel.javaagent.experimental.muzzle-cache.dir";
+
+  @Nullable private static final MuzzleCache INSTANCE = create();
+
+  private final Path directory;
+  private final Cache<ClassLoader, Verdicts> verdictsByClassLoader = Cache.weak();
+  // class loaders with the same fingerprint share the file
+  private final ConcurrentHashMap<String, Verdicts> verdictsByFingerprint =
+      new ConcurrentHashMap<>();
+
+  @Nullable
+  static MuzzleCache get() {
+    return INSTANCE;
+  }
+
+  @Nullable
+  private static MuzzleCache create() {
+    String directory = EarlyInitAgentConfig.get().getString(DIRECTORY_PROPERTY);
+    if (directory == null || directory.isEmpty()) {
+      return null;
+    }
+    try {
+      return new MuzzleCache(Files.createDirectories(Paths.get(directory)));
+    } catch (IOException | RuntimeException e) {
+      logger.log(FINE, "Unable to create muzzle cache directory " + directory, e);
+      return null;
+    }
+  }
+
+  // visible for testing
+  MuzzleCache(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the key of the instrumentation module, or {@code null} if the verdicts for the module
+   * can't be cached.
+   */
+  @Nullable
+  static String moduleKey(InstrumentationModule instrumentationModule) {
+    Class<?> moduleClass = instrumentationModule.getClass();
+    CodeSource codeSource = moduleClass.getProtectionDomain().getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return null;
+    }
+    StringBuilder fingerprint = new StringBuilder();
+    if (!appendJar(fingerprint, codeSource.getLocation())) {
+      return null;
+    }
+    // indy modules are verified against a different class loader
+    String mode = instrumentationModule.isIndyModule() ? "indy" : "inline";
+    String jarHash = sha256(fingerprint.toString()).substring(0, 16);
+    return moduleClass.getName() + '@' + mode + '@' + jarHash;
+  }
+
+  @Nullable
+  Boolean get(ClassLoader classLoader, String moduleKey) {
+    Verdicts verdicts = verdictsFor(classLoader);
+    return verdicts != null ? verdicts.get(moduleKey) : null;
+  }
+
+  void put(ClassLoader classLoader, String moduleKey, boolean matches) {
+    Verdicts verdicts = verdictsFor(classLoader);
+    if (verdicts != null) {
+      verdicts.put(moduleKey, matches);
+    }
+  }
+
+  @Nullable
+  private Verdicts verdictsFor(ClassLoader classLoader) {
+    Verdicts verdicts =
+        verdictsByClassLoader.computeIfAbsent(
+            classLoader,
+            cl -> {
+              String fingerprint = fingerprint(cl);
+              if (fingerprint == null) {
+                return Verdicts.NONE;
+              }
+              return verdictsByFingerprint.computeIfAbsent(
+                  sha256(fingerprint),
+                  hash -> new Verdicts(directory.resolve("muzzle-" + hash + ".properties")));
+            });
+    return verdicts != Verdicts.NONE ? verdicts : null;
+  }
+
+  // visible for testing
+  @Nullable
+  static String fingerprint(ClassLoader classLoader) {
+    StringBuilder result = new StringBuilder();
+    result.append("agent ").append(AgentVersion.VERSION).append('\n');
+    result.append("jdk ").append(System.getProperty("java.home")).append(' ');
+    result.append(System.getProperty("java.vm.version")).append('\n');
+
+    ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+    ClassLoader platformClassLoader = systemClassLoader.getParent();
+    for (ClassLoader cl = classLoader;
+        cl != null && cl != Utils.getBootstrapProxy() && cl != platformClassLoader;
+        cl = cl.getParent()) {
+      result.append(cl.getClass().getName()).append('\n');
+      if (cl == systemClassLoader) {
+        // the system class loader is not an URLClassLoader since java 9
+        String classPath = System.getProperty("java.class.path", "");
+        for (String entry : classPath.split(File.pathSeparator)) {
+          if (!entry.isEmpty() && !appendFile(result, new File(entry))) {
+            return null;
+          }
+        }
+        break;
+      }
+      if (!(cl instanceof URLClassLoader)) {
+        return null;
+      }
+      for (URL url : ((URLClassLoader) cl).getURLs()) {
+        result.append(url).append(' ');
+        if (!appendJar(result, url)) {
+          return null;
+        }
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * Appends the path, size and modification time of the jar file containing the {@code url}, also
+   * handling urls of jars nested in other jars like the ones of Spring Boot applications.
+   */
+  private static boolean appendJar(StringBuilder result, URL url) {
+    String spec = url.toString();
+    if (spec.startsWith("jar:")) {
+      spec = spec.substring("jar:".length());
+    }
+    File file;
+    if (spec.startsWith("nested:")) {
+      // jar:nested:/app.jar/!BOOT-INF/lib/library.jar!/
+      int end = spec.indexOf("/!");
+      file = new File(spec.substring("nested:".length(), end != -1 ? end : spec.length()));
+    } else if (spec.startsWith("file:")) {
+      // file:/library.jar or jar:file:/app.jar!/BOOT-INF/lib/library.jar!/
+      int end = spec.indexOf('!');
+      try {
+        file = new File(new URI(end != -1 ? spec.substring(0, end) : spec));
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        return false;
+      }
+    } else {
+      return false;
+    }
+    return appendFile(result, file);
+  }
+
+  private static boolean appendFile(StringBuilder result, File file) {
+    // the modification time of a directory does not change when the classes in it change
+    if (!file.isFile()) {
+      return false;
+    }
+    result
+        .append(file.getAbsolutePath())
+        .append(' ')
+        .append(file.length())
+        .append(' ')
+        .append(file.lastModified())
+        .append('\n');
+    return true;
+  }
+
+  private static String sha256(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+      StringBuilder result = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        result.append(Character.forDigit((b >> 4) & 0xF, 16));
+        result.append(Character.forDigit(b & 0xF, 16));
+      }
+      return result.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class Verdicts {
+    static final Verdicts NONE = new Verdicts(null);
+
+    @Nullable private final Path file;
+    private final Properties verdicts = new Properties();
+    private boolean writable = true;
+
+    private Verdicts(@Nullable Path file) {
+      this.file = file;
+      if (file != null && Files.isRegularFile(file)) {
+        try (InputStream in = Files.newInputStream(file)) {
+          verdicts.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+          logger.log(FINE, "Unable to read muzzle cache file " + file, e);
+          verdicts.clear();
+        }
+      }
+    }
+
+    @Nullable
+    Boolean get(String moduleKey) {
+      String verdict = verdicts.getProperty(moduleKey);
+      return verdict != null ? Boolean.valueOf(verdict) : null;
+    }
+
+    synchronized void put(String moduleKey, boolean matches) {
+      Object previous = verdicts.setProperty(moduleKey, Boolean.toString(matches));
+      if (file == null || !writable || Boolean.toString(matches).equals(previous)) {
+        return;
+      }
+      // appending a line is cheap and doesn't lose the verdicts when the JVM is killed, later lines
+      // override earlier ones when the file is read
+      String line = moduleKey + '=' + matches + '\n';
+      try {
+        Files.write(
+            file, line.getBytes(UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (IOException e) {
+        logger.log(FINE, "Unable to write muzzle cache file " + file, e);
+        writable = false;
+      }
+    }
+  }
+}
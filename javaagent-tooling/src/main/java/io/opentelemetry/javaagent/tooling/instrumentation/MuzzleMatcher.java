@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.utility.JavaModule;
@@ -41,13 +42,30 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
   private final Level muzzleLogLevel;
   private final AtomicBoolean initialized = new AtomicBoolean(false);
   private final Cache<ClassLoader, Boolean> matchCache = Cache.weak();
+  @Nullable private final MuzzleCache persistentCache;
+  @Nullable private final String persistentCacheKey;
   private volatile ReferenceMatcher referenceMatcher;
 
   MuzzleMatcher(
       TransformSafeLogger instrumentationLogger, InstrumentationModule instrumentationModule) {
+    this(
+        instrumentationLogger,
+        instrumentationModule,
+        MuzzleCache.get(),
+        MuzzleCache.get() != null ? MuzzleCache.moduleKey(instrumentationModule) : null);
+  }
+
+  // visible for testing
+  MuzzleMatcher(
+      TransformSafeLogger instrumentationLogger,
+      InstrumentationModule instrumentationModule,
+      @Nullable MuzzleCache persistentCache,
+      @Nullable String persistentCacheKey) {
     this.instrumentationLogger = instrumentationLogger;
     this.instrumentationModule = instrumentationModule;
     this.muzzleLogLevel = EarlyInitAgentConfig.get().isDebug() ? WARNING : FINE;
+    this.persistentCache = persistentCache;
+    this.persistentCacheKey = persistentCacheKey;
   }
 
   @Override
@@ -60,18 +78,35 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
     if (classLoader == BOOTSTRAP_LOADER) {
       classLoader = Utils.getBootstrapProxy();
     }
+    return matchCache.computeIfAbsent(classLoader, this::computeMatch);
+  }
+
+  // visible for testing
+  boolean computeMatch(ClassLoader classLoader) {
+    if (persistentCache == null || persistentCacheKey == null) {
+      return doesMatchModule(classLoader);
+    }
+    Boolean cached = persistentCache.get(classLoader, persistentCacheKey);
+    // mismatches are verified again when they are logged, so that the details are available
+    if (cached != null && (cached || !muzzleLogger.isLoggable(muzzleLogLevel))) {
+      if (!cached) {
+        MuzzleFailureCounter.inc();
+      }
+      return cached;
+    }
+    boolean isMatch = doesMatchModule(classLoader);
+    persistentCache.put(classLoader, persistentCacheKey, isMatch);
+    return isMatch;
+  }
+
+  private boolean doesMatchModule(ClassLoader classLoader) {
     if (instrumentationModule.isIndyModule()) {
-      return matchCache.computeIfAbsent(
-          classLoader,
-          cl -> {
-            InstrumentationModuleClassLoader moduleCl =
-                IndyModuleRegistry.createInstrumentationClassLoaderWithoutRegistration(
-                    instrumentationModule, cl);
-            return doesMatch(moduleCl);
-          });
-    } else {
-      return matchCache.computeIfAbsent(classLoader, this::doesMatch);
+      InstrumentationModuleClassLoader moduleCl =
+          IndyModuleRegistry.createInstrumentationClassLoaderWithoutRegistration(
+              instrumentationModule, classLoader);
+      return doesMatch(moduleCl);
     }
+    return doesMatch(classLoader);
   }
 
   private boolean doesMatch(ClassLoader classLoader) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation.http;
+
+import io.opentelemetry.javaagent.tooling.instrumentation.http.UrlTemplateRules.Rule;
+import io.opentelemetry.javaagent.tooling.util.Trie;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Dispatches urls only to the rules that could possibly match them. Every rule pattern is indexed
+ * by its literal prefix (e.g. {@code http://localhost:} for {@code ^http://localhost:\d+/users$}),
+ * so that a url is only tested against the rules whose literal prefix it starts with. Rules that
+ * don't have a literal prefix are tested against every url. Results are not cached: urls usually
+ * contain ids or query strings, so a cache keyed by url would rarely be hit, and the result of a
+ * rule may depend on any part of the url, so urls can't safely share a cache entry.
+ */
+final class UrlTemplateRuleIndex {
+
+  private static final Rule[] NO_RULES = new Rule[0];
+
+  // maps the longest matching literal prefix to all the rules (in declaration order) whose literal
+  // prefix is a prefix of the matched one
+  private final Trie<Rule[]> rulesByPrefix;
+  private final Rule[] rulesWithoutPrefix;
+
+  static UrlTemplateRuleIndex create(List<Rule> rules) {
+    List<String> prefixes = new ArrayList<>(rules.size());
+    Set<String> distinctPrefixes = new LinkedHashSet<>();
+    for (Rule rule : rules) {
+      String prefix = literalPrefix(rule.getPattern().pattern());
+      prefixes.add(prefix);
+      if (!prefix.isEmpty()) {
+        distinctPrefixes.add(prefix);
+      }
+    }
+
+    Trie.Builder<Rule[]> trieBuilder = Trie.builder();
+    for (String distinctPrefix : distinctPrefixes) {
+      List<Rule> candidates = new ArrayList<>();
+      for (int i = 0; i < rules.size(); i++) {
+        if (distinctPrefix.startsWith(prefixes.get(i))) {
+          candidates.add(rules.get(i));
+        }
+      }
+      trieBuilder.put(distinctPrefix, candidates.toArray(NO_RULES));
+    }
+
+    List<Rule> rulesWithoutPrefix = new ArrayList<>();
+    for (int i = 0; i < rules.size(); i++) {
+      if (prefixes.get(i).isEmpty()) {
+        rulesWithoutPrefix.add(rules.get(i));
+      }
+    }
+
+    return new UrlTemplateRuleIndex(trieBuilder.build(), rulesWithoutPrefix.toArray(NO_RULES));
+  }
+
+  private UrlTemplateRuleIndex(Trie<Rule[]> rulesByPrefix, Rule[] rulesWithoutPrefix) {
+    this.rulesByPrefix = rulesByPrefix;
+    this.rulesWithoutPrefix = rulesWithoutPrefix;
+  }
+
+  /**
+   * Returns the url template produced by the first matching rule, or {@code null} if none of the
+   * rules matched. When {@code overrideOnly} is set only rules that override the url template
+   * computed by the instrumentation are considered.
+   */
+  @Nullable
+  String apply(String url, boolean overrideOnly) {
+    for (Rule rule : rulesByPrefix.getOrDefault(url, rulesWithoutPrefix)) {
+      if (overrideOnly && !rule.getOverride()) {
+        continue;
+      }
+      // to generate the url template, we apply the regex replacement on the full url
+      String result = rule.getPattern().matcher(url).replaceFirst(rule.getReplacement());
+      if (!url.equals(result)) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the literal text that every string matched by the anchored {@code regex} must start
+   * with, or an empty string if it can't be determined cheaply.
+   */
+  // visible for testing
+  static String literalPrefix(String regex) {
+    // alternation could make any of the branches match, so the prefix would not be reliable
+    if (!regex.startsWith("^") || regex.indexOf('|') != -1) {
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    for (int i = 1; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\' && i + 1 < regex.length() && isEscapedLiteral(regex.charAt(i + 1))) {
+        // escaped punctuation like "\\." matches the character itself
+        prefix.append(regex.charAt(++i));
+        continue;
+      }
+      if (isMetaCharacter(c)) {
+        // the last literal character is optional or repeated when followed by a quantifier
+        if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0) {
+          prefix.setLength(prefix.length() - 1);
+        }
+        break;
+      }
+      prefix.append(c);
+    }
+    return prefix.toString();
+  }
+
+  private static boolean isEscapedLiteral(char c) {
+    // escaped letters and digits are character classes, back references or quotes
+    return !Character.isLetterOrDigit(c);
+  }
+
+  private static boolean isMetaCharacter(char c) {
+    return "\\[](){}.*+?^$|".indexOf(c) != -1;
+  }
+}
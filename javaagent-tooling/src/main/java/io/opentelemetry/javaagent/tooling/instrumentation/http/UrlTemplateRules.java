@@ -15,11 +15,16 @@ import java.util.regex.Pattern;
 final class UrlTemplateRules {
   private static final Logger logger = Logger.getLogger(UrlTemplateRules.class.getName());
   private static final List<Rule> rules = new ArrayList<>();
+  private static volatile UrlTemplateRuleIndex index = UrlTemplateRuleIndex.create(rules);
 
   static List<Rule> getRules() {
     return rules;
   }
 
+  static UrlTemplateRuleIndex getIndex() {
+    return index;
+  }
+
   static void addRule(Pattern pattern, String replacement, boolean override) {
     logger.log(
         FINE,
@@ -27,6 +32,8 @@ final class UrlTemplateRules {
         new Object[] {pattern, replacement, override});
 
     rules.add(new Rule(pattern, replacement, override));
+    // rules are only added during agent startup, rebuilding the whole index is fine
+    index = UrlTemplateRuleIndex.create(rules);
   }
 
   static final class Rule {
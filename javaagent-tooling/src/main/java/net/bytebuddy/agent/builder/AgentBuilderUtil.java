@@ -13,7 +13,6 @@ import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingSuperType
 import io.opentelemetry.javaagent.tooling.DefineClassHandler;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -48,6 +47,8 @@ public class AgentBuilderUtil {
   private static final Field erasureMatcherField = getField(ErasureMatcher.class, "matcher");
   private static final Field conjunctionMatchersField =
       getField(ElementMatcher.Junction.Conjunction.class, "matchers");
+  private static final Field disjunctionMatchersField =
+      getField(ElementMatcher.Junction.Disjunction.class, "matchers");
   private static final Field stringMatcherValueField = getField(StringMatcher.class, "value");
   private static final Field stringMatcherModeField = getField(StringMatcher.class, "mode");
   private static final Field stringSetMatcherValuesField =
@@ -71,25 +72,14 @@ public class AgentBuilderUtil {
   }
 
   private static void optimize(AgentBuilder.Default agentBuilder) throws Exception {
-    // class names that have a matcher that matches by name
-    Set<String> classNames = new HashSet<>();
-    // class names that have a matcher that matches subtypes
-    Set<String> superTypeNames = new HashSet<>();
-    List<Transformation> unoptimizedTransformations = new ArrayList<>();
     List<Transformation> transformations = agentBuilder.transformations;
+    TransformationIndex.Builder<Transformation> indexBuilder = TransformationIndex.builder();
     for (Transformation transformation : transformations) {
-      AgentBuilder.RawMatcher matcher = transformation.getMatcher();
-      // attempt to decompose the matcher and find if it applies to a named class or a subclass
-      Result result = inspect(matcher);
-      if (result == null) {
-        // we were not able to decompose the matcher
-        unoptimizedTransformations.add(transformation);
-      } else if (result.subtype) {
-        superTypeNames.addAll(result.names);
-      } else {
-        classNames.addAll(result.names);
-      }
+      // attempt to decompose the matcher and find the names of the types or super types it applies
+      // to, null when we were not able to decompose the matcher
+      indexBuilder.add(transformation, inspect(transformation.getMatcher()));
     }
+    TransformationIndex<Transformation> index = indexBuilder.build();
 
     List<?> list =
         (List<?>)
@@ -100,30 +90,15 @@ public class AgentBuilderUtil {
                   String name = TransformContext.getTransformedClassName();
                   // iterator() is the only method we expect to be called on this List
                   if (name != null && "iterator".equals(method.getName())) {
-                    // we know that this class is going to be transformed
-                    if (classNames.contains(name) || superTypeNames.contains(name)) {
-                      return transformations.iterator();
-                    }
                     // we already know that loading this class is going to fail, no need to
                     // transform it
                     if (DefineClassHandler.isFailedClass(name)) {
                       return emptyIterator();
                     }
-                    Set<String> loadingSuperTypes = DefineClassHandler.getSuperTypes();
                     // super types set should contain at least java.lang.Object if this set is
-                    // empty something unexpected has happened, run all transformations
-                    if (loadingSuperTypes.isEmpty()) {
-                      return transformations.iterator();
-                    }
-                    for (String className : loadingSuperTypes) {
-                      // we know that this class is going to be transformed
-                      if (superTypeNames.contains(className)) {
-                        return transformations.iterator();
-                      }
-                    }
-
-                    // apply only the transformations that we can't decompose
-                    return unoptimizedTransformations.iterator();
+                    // empty something unexpected has happened, the index runs all transformations
+                    // that match super types then
+                    return index.select(name, DefineClassHandler.getSuperTypes()).iterator();
                   }
 
                   return method.invoke(transformations, args);
@@ -153,8 +128,9 @@ public class AgentBuilderUtil {
     return null;
   }
 
+  // visible for benchmark
   @Nullable
-  private static Result inspect(ElementMatcher<?> matcher) throws Exception {
+  static Result inspect(ElementMatcher<?> matcher) throws Exception {
     if (matcher instanceof DelegatingMatcher) {
       Result result = inspect(((DelegatingMatcher) matcher).getDelegate());
       if (matcher instanceof DelegatingSuperTypeMatcher) {
@@ -178,6 +154,19 @@ public class AgentBuilderUtil {
           return result;
         }
       }
+    } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+      // a disjunction can only be decomposed when all its elements can be
+      Result result = new Result();
+      List<ElementMatcher<?>> matchers =
+          getDelegateMatchers((ElementMatcher.Junction.Disjunction<?>) matcher);
+      for (ElementMatcher<?> elementMatcher : matchers) {
+        Result elementResult = inspect(elementMatcher);
+        if (elementResult == null) {
+          return null;
+        }
+        result.addAll(elementResult);
+      }
+      return matchers.isEmpty() ? null : result;
     }
 
     return null;
@@ -187,8 +176,13 @@ public class AgentBuilderUtil {
   private static Result inspectNameMatcher(NameMatcher<?> nameMatcher) throws Exception {
     ElementMatcher<?> matcher = getDelegateMatcher(nameMatcher);
     if (matcher instanceof StringMatcher) {
-      String value = getStringMatcherValue((StringMatcher) matcher);
-      return Result.named(value);
+      StringMatcher stringMatcher = (StringMatcher) matcher;
+      StringMatcher.Mode mode = getStringMatcherMode(stringMatcher);
+      if (mode == StringMatcher.Mode.EQUALS_FULLY) {
+        return Result.named(getStringMatcherValue(stringMatcher));
+      } else if (mode == StringMatcher.Mode.STARTS_WITH) {
+        return Result.prefixed(getStringMatcherValue(stringMatcher));
+      }
     } else if (matcher instanceof StringSetMatcher) {
       Set<String> value = getStringSetMatcherValue((StringSetMatcher) matcher);
       return Result.named(value);
@@ -197,36 +191,37 @@ public class AgentBuilderUtil {
     return null;
   }
 
-  private static class Result {
+  /** The names of the types a matcher can match. */
+  static class Result {
+    // names of the types the matcher can match
     final Set<String> names = new HashSet<>();
-    // true if matcher matches based on type hierarchy
-    // false if matcher matches based on type name
-    final boolean subtype;
+    // name prefixes of the types the matcher can match
+    final Set<String> prefixes = new HashSet<>();
+    // names of the super types of the types the matcher can match
+    final Set<String> superTypeNames = new HashSet<>();
 
-    private Result(boolean subtype) {
-      this.subtype = subtype;
-    }
+    private Result() {}
 
-    private Result() {
-      this(false);
+    private void addAll(Result other) {
+      names.addAll(other.names);
+      prefixes.addAll(other.prefixes);
+      superTypeNames.addAll(other.superTypeNames);
     }
 
     @Nullable
     static Result subtype(@Nullable Result value) {
-      if (value == null) {
+      // the super types of a type are only known by name
+      if (value == null || !value.prefixes.isEmpty()) {
         return null;
       }
 
-      Result result = new Result(true);
-      result.names.addAll(value.names);
+      Result result = new Result();
+      result.superTypeNames.addAll(value.names);
+      result.superTypeNames.addAll(value.superTypeNames);
       return result;
     }
 
-    @Nullable
-    static Result named(@Nullable String value) {
-      if (value == null) {
-        return null;
-      }
+    static Result named(String value) {
       Result result = new Result();
       result.names.add(value);
       return result;
@@ -242,9 +237,20 @@ public class AgentBuilderUtil {
       return result;
     }
 
+    @Nullable
+    static Result prefixed(String value) {
+      // an empty prefix matches everything
+      if (value.isEmpty()) {
+        return null;
+      }
+      Result result = new Result();
+      result.prefixes.add(value);
+      return result;
+    }
+
     @Override
     public String toString() {
-      return (subtype ? "subtype of " : "named ") + names;
+      return "named " + names + ", prefixed " + prefixes + ", subtype of " + superTypeNames;
     }
   }
 
@@ -283,15 +289,18 @@ public class AgentBuilderUtil {
     return (List<ElementMatcher<?>>) conjunctionMatchersField.get(matcher);
   }
 
-  /**
-   * @return the value given string matcher matches when matcher mode is
-   *     StringMatcher.Mode.EQUALS_FULLY, null otherwise
-   */
-  @Nullable
+  @SuppressWarnings("unchecked") // casting reflection result
+  private static List<ElementMatcher<?>> getDelegateMatchers(
+      ElementMatcher.Junction.Disjunction<?> matcher) throws Exception {
+    return (List<ElementMatcher<?>>) disjunctionMatchersField.get(matcher);
+  }
+
   private static String getStringMatcherValue(StringMatcher matcher) throws Exception {
-    String value = (String) stringMatcherValueField.get(matcher);
-    StringMatcher.Mode mode = (StringMatcher.Mode) stringMatcherModeField.get(matcher);
-    return mode == StringMatcher.Mode.EQUALS_FULLY ? value : null;
+    return (String) stringMatcherValueField.get(matcher);
+  }
+
+  private static StringMatcher.Mode getStringMatcherMode(StringMatcher matcher) throws Exception {
+    return (StringMatcher.Mode) stringMatcherModeField.get(matcher);
   }
 
   @SuppressWarnings("unchecked") // casting reflection result
@@ -0,0 +1,157 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static java.util.Collections.emptyList;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.javaagent.tooling.util.Trie;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * An index of transformations by the names of the types their matchers can match. For a type being
+ * transformed only the transformations that could match its name or one of its super type names
+ * are selected, together with the transformations whose matchers could not be decomposed. The
+ * selected transformations keep their original order.
+ */
+final class TransformationIndex<T> {
+
+  private final List<T> transformations;
+  private final Map<String, BitSet> byName;
+  private final Trie<BitSet> byPrefix;
+  private final Map<String, BitSet> bySuperTypeName;
+  private final BitSet unindexed;
+  private final List<T> unindexedTransformations;
+
+  private TransformationIndex(
+      List<T> transformations,
+      Map<String, BitSet> byName,
+      Trie<BitSet> byPrefix,
+      Map<String, BitSet> bySuperTypeName,
+      BitSet unindexed) {
+    this.transformations = transformations;
+    this.byName = byName;
+    this.byPrefix = byPrefix;
+    this.bySuperTypeName = bySuperTypeName;
+    this.unindexed = unindexed;
+    this.unindexedTransformations = select(unindexed);
+  }
+
+  static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Returns the transformations that could match the type.
+   *
+   * @param typeName the name of the type
+   * @param superTypeNames the names of all the super types of the type, an empty set if they are
+   *     not known, in which case all the transformations that match super types are selected
+   */
+  List<T> select(String typeName, Set<String> superTypeNames) {
+    if (superTypeNames.isEmpty() && !bySuperTypeName.isEmpty()) {
+      return transformations;
+    }
+    BitSet selected = null;
+    selected = or(selected, byName.get(typeName));
+    selected = or(selected, byPrefix.getOrNull(typeName));
+    selected = or(selected, bySuperTypeName.get(typeName));
+    if (!bySuperTypeName.isEmpty()) {
+      for (String superTypeName : superTypeNames) {
+        selected = or(selected, bySuperTypeName.get(superTypeName));
+      }
+    }
+    if (selected == null) {
+      return unindexedTransformations;
+    }
+    selected.or(unindexed);
+    return select(selected);
+  }
+
+  @Nullable
+  private static BitSet or(@Nullable BitSet selected, @Nullable BitSet indexes) {
+    if (indexes == null) {
+      return selected;
+    }
+    if (selected == null) {
+      // the index must not be modified
+      return (BitSet) indexes.clone();
+    }
+    selected.or(indexes);
+    return selected;
+  }
+
+  private List<T> select(BitSet indexes) {
+    if (indexes.isEmpty()) {
+      return emptyList();
+    }
+    List<T> result = new ArrayList<>(indexes.cardinality());
+    for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+      result.add(transformations.get(i));
+    }
+    return result;
+  }
+
+  static final class Builder<T> {
+    private final List<T> transformations = new ArrayList<>();
+    private final Map<String, BitSet> byName = new HashMap<>();
+    private final Map<String, BitSet> byPrefix = new HashMap<>();
+    private final Map<String, BitSet> bySuperTypeName = new HashMap<>();
+    private final BitSet unindexed = new BitSet();
+
+    private Builder() {}
+
+    /**
+     * Adds a transformation.
+     *
+     * @param names the names of the types the transformation can match, {@code null} if they are
+     *     not known and the transformation has to be tested for every type
+     */
+    @CanIgnoreReturnValue
+    Builder<T> add(T transformation, @Nullable AgentBuilderUtil.Result names) {
+      int index = transformations.size();
+      transformations.add(transformation);
+      if (names == null) {
+        unindexed.set(index);
+      } else {
+        add(byName, names.names, index);
+        add(byPrefix, names.prefixes, index);
+        add(bySuperTypeName, names.superTypeNames, index);
+      }
+      return this;
+    }
+
+    private static void add(Map<String, BitSet> index, Collection<String> keys, int value) {
+      for (String key : keys) {
+        index.computeIfAbsent(key, k -> new BitSet()).set(value);
+      }
+    }
+
+    TransformationIndex<T> build() {
+      // the trie returns only the value of the longest matching prefix, so each prefix also has to
+      // select the transformations of the shorter prefixes it starts with
+      Trie.Builder<BitSet> prefixTrie = Trie.builder();
+      for (Map.Entry<String, BitSet> entry : byPrefix.entrySet()) {
+        BitSet indexes = (BitSet) entry.getValue().clone();
+        for (Map.Entry<String, BitSet> other : byPrefix.entrySet()) {
+          if (entry.getKey().startsWith(other.getKey())) {
+            indexes.or(other.getValue());
+          }
+        }
+        prefixTrie.put(entry.getKey(), indexes);
+      }
+      return new TransformationIndex<>(
+          transformations, byName, prefixTrie.build(), bySuperTypeName, unindexed);
+    }
+  }
+}
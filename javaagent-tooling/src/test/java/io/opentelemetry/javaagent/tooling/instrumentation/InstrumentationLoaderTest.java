@@ -0,0 +1,142 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationLoaderTest {
+
+  private final ConfigProperties config = mock(ConfigProperties.class);
+
+  @Test
+  void parallelInstallIsEquivalentToSerialInstall() {
+    List<String> serial = install(this::extendSerially);
+    List<String> parallel = install(this::extendInParallel);
+
+    assertThat(serial)
+        .containsExactly(
+            "module-0#type-0",
+            "module-0#type-1",
+            "module-0#type-2",
+            "module-1#type-0",
+            "module-1#type-1",
+            "module-1#type-2",
+            "module-3#type-0",
+            "module-3#type-1",
+            "module-3#type-2",
+            "module-4#type-0",
+            "module-4#type-1",
+            "module-4#type-2");
+    assertThat(parallel).isEqualTo(serial);
+  }
+
+  @Test
+  void errorIsRethrown() {
+    List<InstrumentationModule> modules =
+        singletonList(
+            new TestModule("failing", new ArrayList<>()) {
+              @Override
+              public List<TypeInstrumentation> typeInstrumentations() {
+                throw new AssertionError("failing module");
+              }
+            });
+
+    assertThatThrownBy(() -> extendSerially(modules))
+        .isInstanceOf(AssertionError.class)
+        .hasMessage("failing module");
+    assertThatThrownBy(() -> extendInParallel(modules))
+        .isInstanceOf(AssertionError.class)
+        .hasMessage("failing module");
+  }
+
+  private List<String> install(Function<List<InstrumentationModule>, AgentBuilder> extend) {
+    List<String> transformed = Collections.synchronizedList(new ArrayList<>());
+    List<InstrumentationModule> modules = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      modules.add(new TestModule("module-" + i, transformed));
+    }
+    // a module that fails to load is skipped in both cases
+    modules.set(
+        2,
+        new TestModule("module-2", transformed) {
+          @Override
+          public List<TypeInstrumentation> typeInstrumentations() {
+            throw new NoClassDefFoundError("module-2");
+          }
+        });
+    extend.apply(modules);
+    return transformed;
+  }
+
+  private AgentBuilder extendSerially(List<InstrumentationModule> modules) {
+    return new InstrumentationLoader().extendSerially(newBuilder(), config, modules);
+  }
+
+  private AgentBuilder extendInParallel(List<InstrumentationModule> modules) {
+    return new InstrumentationLoader().extendInParallel(newBuilder(), config, modules, 4);
+  }
+
+  private static AgentBuilder newBuilder() {
+    return new AgentBuilder.Default();
+  }
+
+  private static class TestModule extends InstrumentationModule {
+    private final List<String> transformed;
+
+    TestModule(String name, List<String> transformed) {
+      super(name);
+      this.transformed = transformed;
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      String moduleName = instrumentationName();
+      return asList(
+          new TestTypeInstrumentation(moduleName + "#type-0", transformed),
+          new TestTypeInstrumentation(moduleName + "#type-1", transformed),
+          new TestTypeInstrumentation(moduleName + "#type-2", transformed));
+    }
+  }
+
+  private static class TestTypeInstrumentation implements TypeInstrumentation {
+    private final String name;
+    private final List<String> transformed;
+
+    TestTypeInstrumentation(String name, List<String> transformed) {
+      this.name = name;
+      this.transformed = transformed;
+    }
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+      return named(name);
+    }
+
+    @Override
+    public void transform(TypeTransformer transformer) {
+      // transform() is called when the module is added to the agent builder
+      transformed.add(name);
+    }
+  }
+}
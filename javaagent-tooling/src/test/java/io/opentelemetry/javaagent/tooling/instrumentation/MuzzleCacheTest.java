@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.logging.Level.FINE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MuzzleCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void fingerprintChangesWhenJarChanges() throws Exception {
+    Path jar = tempDir.resolve("library.jar");
+    Files.write(jar, new byte[] {1, 2, 3});
+
+    String fingerprint;
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      fingerprint = MuzzleCache.fingerprint(classLoader);
+    }
+    assertThat(fingerprint).isNotNull().contains(jar.toAbsolutePath().toString());
+
+    Files.write(jar, new byte[] {1, 2, 3, 4});
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      assertThat(MuzzleCache.fingerprint(classLoader)).isNotNull().isNotEqualTo(fingerprint);
+    }
+  }
+
+  @Test
+  void nestedJarUsesOuterJar() throws Exception {
+    Path jar = tempDir.resolve("app.jar");
+    Files.write(jar, new byte[] {1, 2, 3});
+
+    URL nested = URI.create("jar:" + jar.toUri() + "!/BOOT-INF/lib/library.jar!/").toURL();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {nested}, null)) {
+      assertThat(MuzzleCache.fingerprint(classLoader))
+          .isNotNull()
+          .contains(jar.toAbsolutePath().toString());
+    }
+  }
+
+  @Test
+  void directoriesAreNotCached() throws Exception {
+    try (URLClassLoader classLoader =
+        new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null)) {
+      assertThat(MuzzleCache.fingerprint(classLoader)).isNull();
+    }
+  }
+
+  @Test
+  void verdictsAreReadBack() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    try (URLClassLoader classLoader = newClassLoader()) {
+      MuzzleCache cache = new MuzzleCache(directory);
+      assertThat(cache.get(classLoader, "first")).isNull();
+      cache.put(classLoader, "first", true);
+      cache.put(classLoader, "second", false);
+      assertThat(cacheFiles(directory)).hasSize(1);
+
+      MuzzleCache restarted = new MuzzleCache(directory);
+      assertThat(restarted.get(classLoader, "first")).isTrue();
+      assertThat(restarted.get(classLoader, "second")).isFalse();
+      assertThat(restarted.get(classLoader, "third")).isNull();
+    }
+  }
+
+  @Test
+  void laterLinesOverrideEarlierOnes() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    try (URLClassLoader classLoader = newClassLoader()) {
+      new MuzzleCache(directory).put(classLoader, "module", true);
+      new MuzzleCache(directory).put(classLoader, "module", false);
+
+      List<Path> files = cacheFiles(directory);
+      assertThat(files).hasSize(1);
+      assertThat(new String(Files.readAllBytes(files.get(0)), UTF_8))
+          .isEqualTo("module=true\nmodule=false\n");
+      assertThat(new MuzzleCache(directory).get(classLoader, "module")).isFalse();
+    }
+  }
+
+  @Test
+  void matcherUsesCachedVerdicts() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    try (URLClassLoader classLoader = newClassLoader()) {
+      MuzzleCache cache = new MuzzleCache(directory);
+      // the module has no muzzle references, so verifying it always matches
+      cache.put(classLoader, "module", false);
+
+      assertThat(newMatcher(cache).computeMatch(classLoader)).isFalse();
+      assertThat(new MuzzleCache(directory).get(classLoader, "module")).isFalse();
+    }
+  }
+
+  @Test
+  void matcherVerifiesCachedMismatchWhenLogging() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    Logger muzzleLogger = Logger.getLogger(MuzzleMatcher.class.getName());
+    Level level = muzzleLogger.getLevel();
+    muzzleLogger.setLevel(FINE);
+    try (URLClassLoader classLoader = newClassLoader()) {
+      MuzzleCache cache = new MuzzleCache(directory);
+      cache.put(classLoader, "module", false);
+
+      assertThat(newMatcher(cache).computeMatch(classLoader)).isTrue();
+      assertThat(new MuzzleCache(directory).get(classLoader, "module")).isTrue();
+    } finally {
+      muzzleLogger.setLevel(level);
+    }
+  }
+
+  @Test
+  void matcherStoresVerdicts() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    try (URLClassLoader classLoader = newClassLoader()) {
+      assertThat(newMatcher(new MuzzleCache(directory)).computeMatch(classLoader)).isTrue();
+      assertThat(new MuzzleCache(directory).get(classLoader, "module")).isTrue();
+    }
+  }
+
+  private URLClassLoader newClassLoader() throws Exception {
+    Path jar = tempDir.resolve("library.jar");
+    try (OutputStream out = Files.newOutputStream(jar)) {
+      new JarOutputStream(out).close();
+    }
+    return new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+  }
+
+  private static List<Path> cacheFiles(Path directory) throws Exception {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.collect(Collectors.toList());
+    }
+  }
+
+  private static MuzzleMatcher newMatcher(MuzzleCache cache) {
+    return new MuzzleMatcher(
+        TransformSafeLogger.getLogger(MuzzleCacheTest.class), new TestModule(), cache, "module");
+  }
+
+  private static class TestModule extends InstrumentationModule {
+    TestModule() {
+      super("test");
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      return emptyList();
+    }
+  }
+}
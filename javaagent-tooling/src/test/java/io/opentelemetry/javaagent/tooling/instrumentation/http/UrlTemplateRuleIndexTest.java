@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation.http;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.tooling.instrumentation.http.UrlTemplateRules.Rule;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class UrlTemplateRuleIndexTest {
+
+  @Test
+  void literalPrefix() {
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^http://localhost:.*/hello/.*$"))
+        .isEqualTo("http://localhost:");
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^https://api\\.example\\.com/users/\\d+$"))
+        .isEqualTo("https://api.example.com/users/");
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^https?://example.com$")).isEqualTo("http");
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^http://a{2}")).isEqualTo("http://");
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^.*/hello$")).isEmpty();
+    assertThat(UrlTemplateRuleIndex.literalPrefix("^http://a|http://b$")).isEmpty();
+    assertThat(UrlTemplateRuleIndex.literalPrefix("http://a.*$")).isEmpty();
+  }
+
+  @Test
+  void firstMatchingRuleWins() {
+    UrlTemplateRuleIndex index =
+        UrlTemplateRuleIndex.create(
+            asList(
+                rule("^.*/orders/[0-9]+$", "/orders/{id}", false),
+                rule("^http://example\\.com/users/[0-9]+$", "/users/{id}", false),
+                rule("^http://example\\.com/.*$", "/*", true),
+                rule("^http://other\\.com/.*$", "/other/*", false)));
+
+    assertThat(index.apply("http://example.com/orders/1", false)).isEqualTo("/orders/{id}");
+    assertThat(index.apply("http://example.com/users/1", false)).isEqualTo("/users/{id}");
+    assertThat(index.apply("http://example.com/items", false)).isEqualTo("/*");
+    assertThat(index.apply("http://other.com/items", false)).isEqualTo("/other/*");
+    assertThat(index.apply("http://unknown.com/items", false)).isNull();
+  }
+
+  @Test
+  void overrideOnly() {
+    UrlTemplateRuleIndex index =
+        UrlTemplateRuleIndex.create(
+            asList(
+                rule("^http://example\\.com/users/[0-9]+$", "/users/{id}", false),
+                rule("^http://example\\.com/.*$", "/*", true)));
+
+    assertThat(index.apply("http://example.com/users/1", false)).isEqualTo("/users/{id}");
+    assertThat(index.apply("http://example.com/users/1", true)).isEqualTo("/*");
+  }
+
+  private static Rule rule(String pattern, String replacement, boolean override) {
+    return new Rule(Pattern.compile(pattern), replacement, override);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class TransformationIndexTest {
+
+  private static final Set<String> OBJECT = singleton("java.lang.Object");
+
+  private final TransformationIndex<String> index =
+      TransformationIndex.<String>builder()
+          .add("named", AgentBuilderUtil.Result.named("com.example.Client"))
+          .add("unindexed", null)
+          .add("prefixed", AgentBuilderUtil.Result.prefixed("com.example."))
+          .add("longerPrefix", AgentBuilderUtil.Result.prefixed("com.example.internal."))
+          .add(
+              "subtype",
+              AgentBuilderUtil.Result.subtype(AgentBuilderUtil.Result.named("com.example.Handler")))
+          .build();
+
+  @Test
+  void selectsByName() {
+    assertThat(index.select("com.example.Client", OBJECT))
+        .containsExactly("named", "unindexed", "prefixed");
+    assertThat(index.select("org.example.Client", OBJECT)).containsExactly("unindexed");
+  }
+
+  @Test
+  void selectsAllMatchingPrefixes() {
+    assertThat(index.select("com.example.internal.Helper", OBJECT))
+        .containsExactly("unindexed", "prefixed", "longerPrefix");
+  }
+
+  @Test
+  void selectsBySuperType() {
+    Set<String> superTypes = new HashSet<>(asList("java.lang.Object", "com.example.Handler"));
+    assertThat(index.select("org.example.HandlerImpl", superTypes))
+        .containsExactly("unindexed", "subtype");
+    // the type itself
+    assertThat(index.select("com.example.Handler", OBJECT))
+        .containsExactly("unindexed", "prefixed", "subtype");
+  }
+
+  @Test
+  void selectsAllWhenSuperTypesUnknown() {
+    assertThat(index.select("org.example.Other", emptySet()))
+        .containsExactly("named", "unindexed", "prefixed", "longerPrefix", "subtype");
+  }
+}
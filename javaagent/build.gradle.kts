@@ -461,8 +461,9 @@ fun CopySpec.copyByteBuddy(jar: Provider<RegularFile>) {
   from(zipTree(jar)) {
     eachFile {
       if (path.startsWith("net/bytebuddy/") &&
-        // this is our class that we have placed in the byte buddy package, need to preserve it
-        !path.startsWith("net/bytebuddy/agent/builder/AgentBuilderUtil")
+        // these are our classes that we have placed in the byte buddy package, need to preserve them
+        !path.startsWith("net/bytebuddy/agent/builder/AgentBuilderUtil") &&
+        !path.startsWith("net/bytebuddy/agent/builder/TransformationIndex")
       ) {
         exclude()
       } else if (path.startsWith("META-INF/versions/9/net/bytebuddy/")) {
@@ -8,12 +8,14 @@ package io.opentelemetry.javaagent.tooling;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.HelperResources;
 import io.opentelemetry.javaagent.bootstrap.InjectedClassHelper;
@@ -44,6 +46,9 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
 import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder.Transformer;
 import net.bytebuddy.description.type.TypeDescription;
@@ -71,6 +76,16 @@ public class HelperInjector implements Transformer {
   private static final ProtectionDomain PROTECTION_DOMAIN =
       HelperInjector.class.getProtectionDomain();
 
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+  private static final String INJECTIONS_COUNTER = "helper injections";
+  // helpers are only registered for the class loaders other than the boot loader, the class
+  // loaders define them lazily
+  private static final String REGISTERED_CLASSES_COUNTER = "helper classes registered";
+  private static final String REGISTRATION_TIME_COUNTER = "helper registration time (us)";
+  private static final String INJECTED_BOOT_CLASSES_COUNTER =
+      "helper classes injected into boot loader";
+  private static final String BOOT_INJECTION_TIME_COUNTER = "helper boot injection time (us)";
+
   // a hook for static instrumentation used to save additional classes created by the agent
   // see https://github.com/open-telemetry/opentelemetry-java-contrib/tree/main/static-instrumenter
   private static volatile HelperInjectorListener helperInjectorListener;
@@ -179,6 +194,7 @@ public class HelperInjector implements Transformer {
     injectedClassLoaders.computeIfAbsent(
         maskNullClassLoader(classLoader),
         cl -> {
+          long startNanos = System.nanoTime();
           List<HelperClassDefinition> helpers =
               helperClassesGenerator.apply(unmaskNullClassLoader(cl));
 
@@ -207,6 +223,12 @@ public class HelperInjector implements Transformer {
           if (!isBootClassLoader(cl)) {
             injectHelperResources(cl, classResourcesToInject);
           }
+
+          supportability.incrementCounter(INJECTIONS_COUNTER);
+          if (!isBootClassLoader(cl)) {
+            supportability.incrementCounter(
+                REGISTRATION_TIME_COUNTER, NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+          }
           return true;
         });
     return builder;
@@ -293,6 +315,8 @@ public class HelperInjector implements Transformer {
       // from the loadClass method of the class loader.
       if (isBootClassLoader(classLoader)) {
         injectBootstrapClassLoader(classnameToBytes);
+      } else {
+        supportability.incrementCounter(REGISTERED_CLASSES_COUNTER, classnameToBytes.size());
       }
     } catch (RuntimeException e) {
       if (logger.isLoggable(SEVERE)) {
@@ -325,6 +349,7 @@ public class HelperInjector implements Transformer {
       HelperClass injector = new HelperClass(entry.getValue());
       map.put(entry.getKey(), injector);
     }
+    supportability.incrementCounter(REGISTERED_CLASSES_COUNTER, classNameToBytes.size());
   }
 
   private static Map<String, byte[]> resolve(Map<String, Supplier<byte[]>> classes) {
@@ -340,6 +365,8 @@ public class HelperInjector implements Transformer {
       Double.parseDouble(System.getProperty("java.specification.version")) < 23;
   private static final Map<String, MethodHandles.Lookup> packageLookups = new HashMap<>();
 
+  @Nullable private static File tempDir;
+
   static {
     // add lookups for instrumentations that define classes in boot loader
     addPackageLookup(new ExecutorLookupSupplier());
@@ -362,10 +389,21 @@ public class HelperInjector implements Transformer {
   }
 
   private void injectBootstrapClassLoader(Map<String, Supplier<byte[]>> inject) {
+    long startNanos = System.nanoTime();
+    try {
+      doInjectBootstrapClassLoader(inject);
+    } finally {
+      supportability.incrementCounter(
+          BOOT_INJECTION_TIME_COUNTER, NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+  }
+
+  private void doInjectBootstrapClassLoader(Map<String, Supplier<byte[]>> inject) {
     Map<String, byte[]> classnameToBytes = resolve(inject);
     if (helperInjectorListener != null) {
       helperInjectorListener.onInjection(classnameToBytes);
     }
+    supportability.incrementCounter(INJECTED_BOOT_CLASSES_COUNTER, classnameToBytes.size());
 
     if (ClassInjector.UsingLookup.isAvailable()) {
       for (Iterator<Map.Entry<String, byte[]>> iterator = classnameToBytes.entrySet().iterator();
@@ -410,40 +448,47 @@ public class HelperInjector implements Transformer {
       return;
     }
 
-    // Mar 2020: Since we're proactively cleaning up tempDirs, we cannot share dirs per thread.
-    // If this proves expensive, we could do a per-process tempDir with
-    // a reference count -- but for now, starting simple.
-
-    // Failures to create a tempDir are propagated as IOException and handled by transform
+    // all the classes of the batch are written to a single jar that is appended to the boot class
+    // path, the jars are created in one directory per process
     if (!classnameToBytes.isEmpty() && instrumentation != null) {
-      File tempDir = createTempDir();
       try {
-        ClassInjector.UsingInstrumentation.of(
-                tempDir, ClassInjector.UsingInstrumentation.Target.BOOTSTRAP, instrumentation)
-            .injectRaw(classnameToBytes);
-      } finally {
-        // Delete fails silently
-        deleteTempDir(tempDir);
+        File jar = writeJar(getTempDir(), classnameToBytes);
+        instrumentation.appendToBootstrapClassLoaderSearch(new JarFile(jar));
+      } catch (IOException exception) {
+        throw new IllegalStateException("Failed to inject helper classes.", exception);
       }
     }
   }
 
-  private static File createTempDir() {
-    try {
-      return Files.createTempDirectory("opentelemetry-temp-jars").toFile();
-    } catch (IOException exception) {
-      throw new IllegalStateException("Failed to create temporary directory.", exception);
+  private static synchronized File getTempDir() {
+    // the jars appended to the boot class path stay open until the JVM exits, so they can't be
+    // deleted earlier anyway
+    File dir = tempDir;
+    if (dir == null) {
+      try {
+        dir = Files.createTempDirectory("opentelemetry-temp-jars").toFile();
+      } catch (IOException exception) {
+        throw new IllegalStateException("Failed to create temporary directory.", exception);
+      }
+      dir.deleteOnExit();
+      tempDir = dir;
     }
+    return dir;
   }
 
-  private static void deleteTempDir(File file) {
-    // Not using Files.delete for deleting the directory because failures
-    // create Exceptions which may prove expensive.  Instead using the
-    // older File API which simply returns a boolean.
-    boolean deleted = file.delete();
-    if (!deleted) {
-      file.deleteOnExit();
+  private static File writeJar(File dir, Map<String, byte[]> classnameToBytes) throws IOException {
+    File jar = File.createTempFile("helpers", ".jar", dir);
+    // files are deleted on exit in the reverse order of registration, so the jar is deleted before
+    // the directory
+    jar.deleteOnExit();
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+      for (Map.Entry<String, byte[]> entry : classnameToBytes.entrySet()) {
+        out.putNextEntry(new JarEntry(entry.getKey().replace('.', '/') + ".class"));
+        out.write(entry.getValue());
+        out.closeEntry();
+      }
     }
+    return jar;
   }
 
   private static ClassLoader maskNullClassLoader(ClassLoader classLoader) {